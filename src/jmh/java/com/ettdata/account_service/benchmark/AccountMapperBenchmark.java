@@ -0,0 +1,69 @@
+package com.ettdata.account_service.benchmark;
+
+import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountStatus;
+import com.ettdata.account_service.domain.model.AccountType;
+import com.ettdata.account_service.domain.model.MovementPeriod;
+import com.ettdata.account_service.infrastructure.entity.AccountEntity;
+import com.ettdata.account_service.infrastructure.utils.AccountMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión entidad ↔ dominio de AccountMapper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountMapperBenchmark {
+
+  private AccountMapper mapper;
+  private AccountEntity entity;
+  private Account account;
+
+  @Setup
+  public void setUp() {
+    mapper = new AccountMapper();
+    entity = AccountEntity.builder()
+          .id("652f1c2ab4d1e73a9c000001")
+          .accountNumber("ACC-1A2B3C4D")
+          .accountType(AccountType.CURRENT)
+          .customerId("652f1c2ab4d1e73a9c000002")
+          .holders(Collections.singletonList("652f1c2ab4d1e73a9c000002"))
+          .authorizedSigners(Collections.emptyList())
+          .openingDate(LocalDate.of(2024, 1, 15))
+          .balance(new BigDecimal("15320.75"))
+          .maintenanceFee(new BigDecimal("12.00"))
+          .movements(Collections.singletonMap(MovementPeriod.current(), 7))
+          .minimumOpeningAmount(new BigDecimal("100.00"))
+          .accountStatus(AccountStatus.ACTIVE)
+          .build();
+    account = mapper.toDomain(entity);
+  }
+
+  @Benchmark
+  public Account toDomain() {
+    return mapper.toDomain(entity);
+  }
+
+  @Benchmark
+  public AccountEntity toEntity() {
+    return mapper.toEntity(account);
+  }
+}
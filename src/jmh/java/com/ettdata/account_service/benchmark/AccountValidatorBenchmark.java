@@ -0,0 +1,99 @@
+package com.ettdata.account_service.benchmark;
+
+import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountType;
+import com.ettdata.account_service.domain.model.CustomerType;
+import com.ettdata.account_service.infrastructure.config.AccountRulesProperties;
+import com.ettdata.account_service.infrastructure.utils.AccountPolicyProvider;
+import com.ettdata.account_service.infrastructure.utils.AccountValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reglas de movimientos del AccountValidator: cuenta dentro del límite, cuenta bloqueada
+ * por límite (camino de rechazo), cálculo de comisión con y sin movimientos gratuitos
+ * y consulta de la tabla de tipos de cuenta permitidos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountValidatorBenchmark {
+
+  private AccountValidator validator;
+  private Account savingsWithinLimit;
+  private Account savingsAtLimit;
+  private Account currentFree;
+  private Account currentWithCommission;
+
+  @Setup
+  public void setUp() throws IOException {
+    validator = new AccountValidator(new AccountPolicyProvider(applicationRules()));
+    savingsWithinLimit = account(AccountType.SAVINGS, 3);
+    savingsAtLimit = account(AccountType.SAVINGS, 10);
+    currentFree = account(AccountType.CURRENT, 5);
+    currentWithCommission = account(AccountType.CURRENT, 25);
+  }
+
+  @Benchmark
+  public Object validateMovementLimitAccepted() {
+    return validator.validateMovementLimit(savingsWithinLimit);
+  }
+
+  @Benchmark
+  public Object validateMovementLimitRejected() {
+    return validator.validateMovementLimit(savingsAtLimit);
+  }
+
+  @Benchmark
+  public long calculateMovementCommissionFree() {
+    return validator.calculateMovementCommission(currentFree);
+  }
+
+  @Benchmark
+  public long calculateMovementCommissionCharged() {
+    return validator.calculateMovementCommission(currentWithCommission);
+  }
+
+  @Benchmark
+  public Object validateAccountTypeAllowed() {
+    return validator.validateAccountType(CustomerType.VIP, AccountType.CURRENT);
+  }
+
+  private static Account account(AccountType type, int movements) {
+    return Account.builder()
+          .accountNumber("ACC-BENCH")
+          .accountType(type)
+          .balance(new BigDecimal("1000.00"))
+          .cantMovements(movements)
+          .build();
+  }
+
+  /**
+   * Las reglas solo se definen en la configuración: se usan las de application.yml
+   */
+  private static AccountRulesProperties applicationRules() throws IOException {
+    return new Binder(ConfigurationPropertySources.from(
+          new YamlPropertySourceLoader().load("application.yml", new ClassPathResource("application.yml"))))
+          .bind("account.rules", AccountRulesProperties.class)
+          .orElseThrow(() -> new IllegalStateException("account.rules no definido en application.yml"));
+  }
+}
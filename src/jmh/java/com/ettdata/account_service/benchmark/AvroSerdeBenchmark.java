@@ -0,0 +1,89 @@
+package com.ettdata.account_service.benchmark;
+
+import com.ettdata.avro.AccountValidationRequest;
+import com.ettdata.avro.AccountValidationResponse;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción de AccountValidationResponse y serialización Avro binaria de AccountValidationRequest.
+ * Mide el payload que KafkaAvroSerializer escribe después de su cabecera (magic byte + schema id).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvroSerdeBenchmark {
+
+  private final SpecificDatumWriter<AccountValidationRequest> writer =
+        new SpecificDatumWriter<>(AccountValidationRequest.class);
+  private final SpecificDatumReader<AccountValidationRequest> reader =
+        new SpecificDatumReader<>(AccountValidationRequest.class);
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+
+  private AccountValidationRequest request;
+  private byte[] serialized;
+  private BinaryEncoder encoder;
+  private BinaryDecoder decoder;
+
+  @Setup
+  public void setUp() throws IOException {
+    request = AccountValidationRequest.newBuilder()
+          .setTransactionId("5d0b8a3e-6c1f-4d7e-9a58-1f2c3b4d5e6f")
+          .setAccountNumber("ACC-1A2B3C4D")
+          .setTransactionType("TRANSFER")
+          .setAmount(250.50)
+          .setTargetAccountNumber("ACC-9Z8Y7X6W")
+          .build();
+    serialized = serialize();
+  }
+
+  @Benchmark
+  public AccountValidationResponse buildResponse() {
+    return AccountValidationResponse.newBuilder()
+          .setTransactionId(request.getTransactionId())
+          .setAccountNumber(request.getAccountNumber())
+          .setCodResponse(200)
+          .setMessageResponse("Transferencia registrada correctamente")
+          .build();
+  }
+
+  @Benchmark
+  public byte[] serializeRequest() throws IOException {
+    return serialize();
+  }
+
+  @Benchmark
+  public AccountValidationRequest deserializeRequest() throws IOException {
+    decoder = DecoderFactory.get().binaryDecoder(serialized, decoder);
+    return reader.read(null, decoder);
+  }
+
+  private byte[] serialize() throws IOException {
+    buffer.reset();
+    encoder = EncoderFactory.get().binaryEncoder(buffer, encoder);
+    writer.write(request, encoder);
+    encoder.flush();
+    return buffer.toByteArray();
+  }
+}
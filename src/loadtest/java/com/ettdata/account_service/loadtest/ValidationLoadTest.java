@@ -0,0 +1,280 @@
+package com.ettdata.account_service.loadtest;
+
+import com.ettdata.account_service.domain.model.AccountStatus;
+import com.ettdata.account_service.domain.model.AccountType;
+import com.ettdata.account_service.infrastructure.entity.AccountEntity;
+import com.ettdata.account_service.infrastructure.repository.AccountRepository;
+import com.ettdata.avro.AccountValidationRequest;
+import com.ettdata.avro.AccountValidationResponse;
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfig;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Harness de carga end-to-end del flujo Kafka de validación.
+ * Levanta el servicio contra un broker Kafka embebido, el schema registry mock de Confluent y un mongod
+ * embebido; reproduce una mezcla sintética WITHDRAWAL/DEPOSIT/TRANSFER con sesgo hacia cuentas "calientes"
+ * y reporta latencia request→response (p50/p99/p99.9) y registros/seg.
+ *
+ * <p>Parámetros (system properties, ver perfil {@code load-test} del pom):
+ * {@code loadtest.messages}, {@code loadtest.rate} (msg/s, 0 = sin límite), {@code loadtest.accounts},
+ * {@code loadtest.hotAccounts}, {@code loadtest.hotTrafficRatio}, {@code loadtest.mix} (pesos W,D,T) y
+ * {@code loadtest.partitions}. El modo del consumidor se elige con {@code -Dkafka.consumer.mode=record|batch|reactive}.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+      "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration",
+      "spring.kafka.consumer.auto-offset-reset=earliest",
+      "spring.kafka.producer.properties.schema.registry.url=" + ValidationLoadTest.SCHEMA_REGISTRY_URL,
+      "spring.kafka.consumer.properties.schema.registry.url=" + ValidationLoadTest.SCHEMA_REGISTRY_URL,
+      "logging.level.com.ettdata=WARN"
+})
+class ValidationLoadTest {
+
+  static final String SCHEMA_REGISTRY_URL = "mock://load-test";
+  private static final String REQUEST_TOPIC = "account-validation-request";
+  private static final String RESPONSE_TOPIC = "account-validation-response";
+
+  private static final int MESSAGES = Integer.getInteger("loadtest.messages", 20_000);
+  private static final int RATE = Integer.getInteger("loadtest.rate", 0);
+  private static final int ACCOUNTS = Integer.getInteger("loadtest.accounts", 1_000);
+  private static final int HOT_ACCOUNTS = Integer.getInteger("loadtest.hotAccounts", 10);
+  private static final double HOT_TRAFFIC_RATIO =
+        Double.parseDouble(System.getProperty("loadtest.hotTrafficRatio", "0.5"));
+  private static final int[] MIX = Arrays.stream(System.getProperty("loadtest.mix", "60,30,10").split(","))
+        .map(String::trim).mapToInt(Integer::parseInt).toArray();
+  private static final int PARTITIONS = Integer.getInteger("loadtest.partitions", 6);
+  private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(Long.getLong("loadtest.timeoutSeconds", 300));
+
+  private static final EmbeddedKafkaBroker KAFKA =
+        new EmbeddedKafkaBroker(1, false, PARTITIONS, REQUEST_TOPIC, RESPONSE_TOPIC);
+  private static final MongodExecutable MONGOD;
+  private static final int MONGO_PORT;
+
+  static {
+    KAFKA.afterPropertiesSet();
+    try {
+      MONGO_PORT = Network.freeServerPort(Network.getLocalHost());
+      MONGOD = MongodStarter.getDefaultInstance().prepare(MongodConfig.builder()
+            .version(Version.Main.V6_0)  // misma versión que docker-compose
+            .net(new Net(MONGO_PORT, Network.localhostIsIPv6()))
+            .build());
+      MONGOD.start();
+    } catch (IOException e) {
+      throw new IllegalStateException("No se pudo iniciar mongod embebido", e);
+    }
+  }
+
+  @DynamicPropertySource
+  static void infrastructure(DynamicPropertyRegistry registry) {
+    registry.add("spring.kafka.bootstrap-servers", KAFKA::getBrokersAsString);
+    registry.add("spring.data.mongodb.uri", () -> "mongodb://localhost:" + MONGO_PORT + "/bd-account-loadtest");
+  }
+
+  @AfterAll
+  static void stopInfrastructure() {
+    MONGOD.stop();
+    KAFKA.destroy();
+  }
+
+  @Autowired
+  private AccountRepository accountRepository;
+
+  private final Random random = new Random(42);
+
+  @BeforeEach
+  void seedAccounts() {
+    accountRepository.deleteAll()
+          .thenMany(accountRepository.saveAll(IntStream.range(0, ACCOUNTS)
+                .mapToObj(i -> AccountEntity.builder()
+                      .accountNumber(accountNumber(i))
+                      .accountType(AccountType.CURRENT)
+                      .customerId("LT-CUSTOMER-" + i)
+                      .holders(Collections.emptyList())
+                      .authorizedSigners(Collections.emptyList())
+                      .openingDate(LocalDate.now())
+                      .balance(new BigDecimal("1000000000.00"))
+                      .maintenanceFee(BigDecimal.ZERO)
+                      .movements(new HashMap<>())
+                      .minimumOpeningAmount(BigDecimal.ZERO)
+                      .accountStatus(AccountStatus.ACTIVE)
+                      .build())
+                .collect(Collectors.toList())))
+          .blockLast(Duration.ofMinutes(1));
+  }
+
+  @Test
+  void replaySyntheticMix() throws InterruptedException {
+    Map<String, Long> sentAt = new ConcurrentHashMap<>(MESSAGES * 2);
+    long[] latencies = new long[MESSAGES];
+    Map<Integer, Integer> codes = new TreeMap<>();
+    AtomicBoolean draining = new AtomicBoolean(true);
+    int[] received = {0};
+
+    Thread collector = new Thread(() -> {
+      try (KafkaConsumer<String, AccountValidationResponse> consumer = responseConsumer()) {
+        consumer.subscribe(Collections.singletonList(RESPONSE_TOPIC));
+        while (draining.get() && received[0] < MESSAGES) {
+          for (ConsumerRecord<String, AccountValidationResponse> record : consumer.poll(Duration.ofMillis(100))) {
+            long now = System.nanoTime();
+            Long start = sentAt.remove(record.value().getTransactionId().toString());
+            if (start == null) {
+              continue;
+            }
+            latencies[received[0]++] = now - start;
+            codes.merge(record.value().getCodResponse(), 1, Integer::sum);
+          }
+        }
+      }
+    }, "loadtest-collector");
+    collector.start();
+
+    long intervalNanos = RATE > 0 ? TimeUnit.SECONDS.toNanos(1) / RATE : 0;
+    long begin = System.nanoTime();
+    try (KafkaProducer<String, AccountValidationRequest> producer = requestProducer()) {
+      for (int i = 0; i < MESSAGES; i++) {
+        AccountValidationRequest request = nextRequest();
+        long start = System.nanoTime();
+        if (intervalNanos > 0) {
+          // Carga de lazo abierto: se mide desde la hora programada para no ocultar la cola
+          start = begin + i * intervalNanos;
+          LockSupport.parkNanos(start - System.nanoTime());
+        }
+        sentAt.put(request.getTransactionId().toString(), start);
+        producer.send(new ProducerRecord<>(REQUEST_TOPIC, request.getAccountNumber().toString(), request));
+      }
+    }
+
+    collector.join(DRAIN_TIMEOUT.toMillis());
+    draining.set(false);
+    collector.join();
+    long elapsed = System.nanoTime() - begin;
+
+    report(Arrays.copyOf(latencies, received[0]), elapsed, codes);
+    assertEquals(MESSAGES, received[0], "Respuestas recibidas");
+  }
+
+  private AccountValidationRequest nextRequest() {
+    int weight = random.nextInt(MIX[0] + MIX[1] + MIX[2]);
+    String type = weight < MIX[0] ? "WITHDRAWAL" : weight < MIX[0] + MIX[1] ? "DEPOSIT" : "TRANSFER";
+    int source = nextAccount();
+    AccountValidationRequest.Builder builder = AccountValidationRequest.newBuilder()
+          .setTransactionId(UUID.randomUUID().toString())
+          .setAccountNumber(accountNumber(source))
+          .setTransactionType(type)
+          .setAmount((double) (1 + random.nextInt(100)));
+    if ("TRANSFER".equals(type)) {
+      int target = nextAccount();
+      if (target == source) {
+        target = (source + 1) % ACCOUNTS;
+      }
+      builder.setTargetAccountNumber(accountNumber(target));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Cuenta origen: con probabilidad hotTrafficRatio cae en las primeras hotAccounts cuentas.
+   */
+  private int nextAccount() {
+    if (HOT_ACCOUNTS > 0 && random.nextDouble() < HOT_TRAFFIC_RATIO) {
+      return random.nextInt(HOT_ACCOUNTS);
+    }
+    return random.nextInt(ACCOUNTS);
+  }
+
+  private static String accountNumber(int index) {
+    return String.format("LT-%08d", index);
+  }
+
+  private void report(long[] latencies, long elapsedNanos, Map<Integer, Integer> codes) {
+    Arrays.sort(latencies);
+    double seconds = elapsedNanos / 1e9;
+    log.warn("==================== LOAD TEST ====================");
+    log.warn("mensajes={} cuentas={} calientes={} ratioCaliente={} mix={} particiones={} rate={}",
+          MESSAGES, ACCOUNTS, HOT_ACCOUNTS, HOT_TRAFFIC_RATIO, Arrays.toString(MIX), PARTITIONS,
+          RATE > 0 ? RATE + "/s" : "sin límite");
+    log.warn("respuestas={} en {} s → {} rec/s", latencies.length, String.format("%.2f", seconds),
+          String.format("%.0f", latencies.length / seconds));
+    log.warn("latencia ms: p50={} p99={} p99.9={} max={}",
+          millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+          millis(percentile(latencies, 0.999)), millis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]));
+    log.warn("codResponse: {}", codes);
+  }
+
+  private static long percentile(long[] sorted, double p) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+
+  private static String millis(long nanos) {
+    return String.format("%.2f", nanos / 1e6);
+  }
+
+  private static KafkaProducer<String, AccountValidationRequest> requestProducer() {
+    Map<String, Object> props = new HashMap<>();
+    props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA.getBrokersAsString());
+    props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, KafkaAvroSerializer.class);
+    props.put(ProducerConfig.LINGER_MS_CONFIG, 1);
+    props.put("schema.registry.url", SCHEMA_REGISTRY_URL);
+    return new KafkaProducer<>(props);
+  }
+
+  private static KafkaConsumer<String, AccountValidationResponse> responseConsumer() {
+    Map<String, Object> props = new HashMap<>();
+    props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA.getBrokersAsString());
+    props.put(ConsumerConfig.GROUP_ID_CONFIG, "load-test-collector");
+    props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, KafkaAvroDeserializer.class);
+    props.put("schema.registry.url", SCHEMA_REGISTRY_URL);
+    props.put("specific.avro.reader", true);
+    return new KafkaConsumer<>(props);
+  }
+}
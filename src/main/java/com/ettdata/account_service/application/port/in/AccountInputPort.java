@@ -1,14 +1,20 @@
 package com.ettdata.account_service.application.port.in;
 
+import com.ettdata.account_service.domain.model.Account;
 import com.ettdata.account_service.domain.model.AccountListResponse;
 import com.ettdata.account_service.domain.model.AccountResponse;
+import com.ettdata.account_service.domain.model.LedgerHistoryResponse;
 import com.ettdata.account_service.infrastructure.model.AccountRequest;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface AccountInputPort {
     Mono<AccountListResponse> findAllBankAccount();
+    Flux<Account> streamAllBankAccount();
+    Mono<AccountListResponse> findBankAccountPage(String after, int limit);
     Mono<AccountResponse> createAccount(AccountRequest bankAccountRequest);
     Mono<AccountListResponse> findByIdAccount(String id);
     Mono<AccountResponse> deleteByIdAccount(String id);
     Mono<AccountListResponse> findByNumberAccount(String numberAccount);
+    Mono<LedgerHistoryResponse> findMovementHistory(String numberAccount, String before, int limit);
 }
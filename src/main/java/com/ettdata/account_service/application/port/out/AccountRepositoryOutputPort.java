@@ -1,13 +1,26 @@
 package com.ettdata.account_service.application.port.out;
 
 import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountMovement;
+import com.ettdata.account_service.domain.model.AccountTransfer;
+import com.ettdata.account_service.domain.model.MovementResult;
+import com.ettdata.account_service.domain.model.TransferResult;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface AccountRepositoryOutputPort {
     Flux<Account> findAllAccount();
 
+    /**
+     * Página de cuentas ordenada por id (paginación por cursor)
+     * @param afterId id de la última cuenta de la página anterior (null para la primera página)
+     * @param limit tamaño de página
+     */
+    Flux<Account> findAccountsAfter(String afterId, int limit);
+
     Mono<Account> saveOrUpdateAccount(Account account);
 
     Mono<Account> findByIdAccount(String id);
@@ -17,4 +30,24 @@ public interface AccountRepositoryOutputPort {
     Mono<Void> deleteByIdAccount(String id);
 
     Mono<Account> findByNumberAccount(String numberAccount);
+
+    /**
+     * Busca varias cuentas en una sola consulta ($in). Los números inexistentes se omiten
+     * @param numberAccounts números de cuenta
+     */
+    Flux<Account> findByNumberAccounts(Collection<String> numberAccounts);
+
+    /**
+     * Aplica un movimiento con un único findAndModify guardado ($inc sobre saldo y movimientos)
+     * @param movement movimiento y guardas a evaluar
+     * @return cuenta actualizada o rechazo tipado
+     */
+    Mono<MovementResult> applyMovement(AccountMovement movement);
+
+    /**
+     * Aplica el cargo y el abono de una transferencia como una unidad (ambos o ninguno)
+     * @param transfer cargo guardado en origen y abono en destino
+     * @return ambas cuentas actualizadas o rechazo tipado
+     */
+    Mono<TransferResult> applyTransfer(AccountTransfer transfer);
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.ettdata.account_service.application.port.out;
+
+import com.ettdata.account_service.domain.model.LedgerEntry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface MovementLedgerOutputPort {
+    /**
+     * Agrega asientos al libro en una sola escritura (bulk insert).
+     * Un asiento ya registrado para la misma transacción, cuenta y tipo se ignora.
+     * @param entries asientos a agregar
+     */
+    Mono<Void> append(List<LedgerEntry> entries);
+
+    /**
+     * Historial de una cuenta, del asiento más reciente al más antiguo
+     * @param accountNumber número de cuenta
+     * @param before id del último asiento de la página anterior (null = primera página)
+     * @param limit tamaño de la página
+     */
+    Flux<LedgerEntry> findHistory(String accountNumber, String before, int limit);
+
+    /**
+     * Saldo según el libro: última instantánea más los asientos posteriores
+     * @param accountNumber número de cuenta
+     */
+    Mono<BigDecimal> computeBalance(String accountNumber);
+}
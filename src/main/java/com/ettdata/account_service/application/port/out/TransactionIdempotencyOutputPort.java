@@ -0,0 +1,20 @@
+package com.ettdata.account_service.application.port.out;
+
+import com.ettdata.avro.AccountValidationResponse;
+import reactor.core.publisher.Mono;
+
+public interface TransactionIdempotencyOutputPort {
+    /**
+     * Busca la respuesta ya calculada para una transacción
+     * @param transactionId identificador de la transacción
+     * @return respuesta previa o vacío si la transacción no fue procesada
+     */
+    Mono<AccountValidationResponse> findProcessedResponse(String transactionId);
+
+    /**
+     * Registra la respuesta de una transacción procesada
+     * @param response respuesta a registrar
+     * @return la misma respuesta
+     */
+    Mono<AccountValidationResponse> saveProcessedResponse(AccountValidationResponse response);
+}
@@ -3,10 +3,18 @@ package com.ettdata.account_service.application.service;
 import com.ettdata.account_service.application.port.in.AccountInputPort;
 import com.ettdata.account_service.application.port.out.AccountRepositoryOutputPort;
 import com.ettdata.account_service.application.port.out.CustomerOutputPort;
+import com.ettdata.account_service.application.port.out.MovementLedgerOutputPort;
 import com.ettdata.account_service.domain.error.AccountNotFoundException;
+import com.ettdata.account_service.domain.error.CustomerServiceUnavailableException;
 import com.ettdata.account_service.domain.model.Account;
 import com.ettdata.account_service.domain.model.AccountListResponse;
 import com.ettdata.account_service.domain.model.AccountResponse;
+import com.ettdata.account_service.domain.model.AccountType;
+import com.ettdata.account_service.domain.model.CustomerType;
+import com.ettdata.account_service.domain.model.LedgerEntry;
+import com.ettdata.account_service.domain.model.LedgerEntryType;
+import com.ettdata.account_service.domain.model.LedgerHistoryResponse;
+import com.ettdata.account_service.domain.model.ValidationResult;
 import com.ettdata.account_service.infrastructure.model.AccountRequest;
 import com.ettdata.account_service.infrastructure.utils.AccountConstants;
 import com.ettdata.account_service.infrastructure.utils.AccountMapper;
@@ -15,9 +23,14 @@ import com.ettdata.account_service.infrastructure.utils.AccountValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service for bank account management.
@@ -33,6 +46,7 @@ public class AccountService implements AccountInputPort {
   private final AccountResponseMapper responseMapper;
   private final AccountValidator validator;
   private final AccountMapper accountMapper;
+  private final MovementLedgerOutputPort ledger;
 
   // ============================================================
   // ✅ Consultas
@@ -51,6 +65,34 @@ public class AccountService implements AccountInputPort {
                 log.error("Error retrieving accounts: {}", error.getMessage()));
   }
 
+  @Override
+  public Flux<Account> streamAllBankAccount() {
+    log.info("Streaming all bank accounts");
+
+    return accountRepository.findAllAccount()
+          .doOnError(error ->
+                log.error("Error streaming accounts: {}", error.getMessage()));
+  }
+
+  @Override
+  public Mono<AccountListResponse> findBankAccountPage(String after, int limit) {
+    log.info("Retrieving bank accounts page after: {}, limit: {}", after, limit);
+
+    return accountRepository.findAccountsAfter(after, limit)
+          .collectList()
+          .map(accounts -> {
+            AccountListResponse response = responseMapper.toAccountListResponse(accounts);
+            if (accounts.size() == limit) {
+              response.setNextCursor(accounts.get(accounts.size() - 1).getId());
+            }
+            return response;
+          })
+          .doOnSuccess(response ->
+                log.debug("Found {} accounts in page", response.getData().size()))
+          .doOnError(error ->
+                log.error("Error retrieving accounts page: {}", error.getMessage()));
+  }
+
   @Override
   public Mono<AccountListResponse> findByIdAccount(String id) {
     log.info("Retrieving account by id: {}", id);
@@ -84,6 +126,31 @@ public class AccountService implements AccountInputPort {
                 log.error("Error retrieving account number {}: {}", numberAccount, error.getMessage()));
   }
 
+  /**
+   * Historial del libro de movimientos, paginado por cursor (before = id del último asiento
+   * de la página anterior). La primera página incluye el saldo según el libro.
+   */
+  @Override
+  public Mono<LedgerHistoryResponse> findMovementHistory(String numberAccount, String before, int limit) {
+    log.info("Retrieving movement history for account: {}, before: {}, limit: {}", numberAccount, before, limit);
+
+    Mono<Optional<BigDecimal>> balance = before == null
+          ? ledger.computeBalance(numberAccount).map(Optional::of)
+          : Mono.just(Optional.empty());
+
+    return Mono.zip(ledger.findHistory(numberAccount, before, limit).collectList(), balance)
+          .map(page -> LedgerHistoryResponse.builder()
+                .accountNumber(numberAccount)
+                .balance(page.getT2().orElse(null))
+                .data(page.getT1())
+                .nextCursor(page.getT1().size() == limit ? page.getT1().get(limit - 1).getId() : null)
+                .build())
+          .doOnSuccess(response ->
+                log.debug("Found {} movements for account {}", response.getData().size(), numberAccount))
+          .doOnError(error ->
+                log.error("Error retrieving movement history {}: {}", numberAccount, error.getMessage()));
+  }
+
   // ============================================================
   // ✅ Creación de cuenta
   // ============================================================
@@ -97,11 +164,19 @@ public class AccountService implements AccountInputPort {
             log.info("Customer found - Type: {}, ID: {}",
                   customer.getCustomerType(), customer.getId());
 
-            return validateAccountCreation(request, customer.getCustomerType())
-                  .then(accountRepository.findByCustomerId(customer.getId()).collectList())
+            // Los tipos se interpretan una sola vez; las reglas se consultan por enum
+            CustomerType customerType = CustomerType.from(customer.getCustomerType());
+            AccountType accountType = AccountType.from(request.getAccountType());
+
+            ValidationResult validation = validateAccountCreation(request, customerType, accountType);
+            if (!validation.isValid()) {
+              return Mono.just(toRejectedResponse(validation));
+            }
+
+            return accountRepository.findByCustomerId(customer.getId()).collectList()
                   .flatMap(existingAccounts ->
                         processAccountCreation(request, customer.getId(),
-                              customer.getCustomerType(), existingAccounts));
+                              customerType, accountType, existingAccounts));
           })
           .switchIfEmpty(Mono.defer(() -> {
             log.warn("Customer not found with document: {}", request.getCustomerDocument());
@@ -115,13 +190,15 @@ public class AccountService implements AccountInputPort {
   /**
    * Ejecuta las validaciones de creación de cuenta.
    */
-  private Mono<Void> validateAccountCreation(AccountRequest request, String customerType) {
+  private ValidationResult validateAccountCreation(AccountRequest request,
+                                                   CustomerType customerType,
+                                                   AccountType accountType) {
     return validator.validateMinimumBalance(
                 request.getInitialBalance(),
                 request.getMinimumOpeningAmount())
-          .then(validator.validateAccountType(
+          .and(() -> validator.validateAccountType(
                 customerType,
-                request.getAccountType()));
+                accountType));
   }
 
   /**
@@ -129,17 +206,20 @@ public class AccountService implements AccountInputPort {
    */
   private Mono<AccountResponse> processAccountCreation(AccountRequest request,
                                                        String customerId,
-                                                       String customerType,
+                                                       CustomerType customerType,
+                                                       AccountType accountType,
                                                        List<Account> existingAccounts) {
 
-    return validator.validatePersonalAccountLimit(
-                customerType,
-                existingAccounts,
-                request.getAccountType())
-          .then(Mono.defer(() -> {
-            validator.logSpecialCustomerRequirements(customerType, request.getAccountType());
-            return createAndSaveAccount(request, customerId);
-          }));
+    ValidationResult validation = validator.validatePersonalAccountLimit(
+          customerType,
+          existingAccounts,
+          accountType);
+    if (!validation.isValid()) {
+      return Mono.just(toRejectedResponse(validation));
+    }
+
+    validator.logSpecialCustomerRequirements(customerType, accountType);
+    return createAndSaveAccount(request, customerId);
   }
 
   /**
@@ -149,12 +229,34 @@ public class AccountService implements AccountInputPort {
     return Mono.just(request)
           .map(req -> accountMapper.requestToDomain(req, customerId))
           .flatMap(accountRepository::saveOrUpdateAccount)
+          .flatMap(account -> recordOpening(account).thenReturn(account))
           .map(responseMapper::entityToSuccessResponse)
           .doOnSuccess(response ->
                 log.info("Account created successfully - ID: {}, Type: {}",
                       response.getCodEntity(), request.getAccountType()));
   }
 
+  /**
+   * Asiento de apertura: el saldo según el libro parte del saldo inicial de la cuenta.
+   */
+  private Mono<Void> recordOpening(Account account) {
+    LedgerEntry opening = LedgerEntry.builder()
+          .transactionId(LedgerEntry.openingTransactionId(account.getAccountNumber()))
+          .accountNumber(account.getAccountNumber())
+          .type(LedgerEntryType.OPENING)
+          .amount(account.getBalance())
+          .commission(BigDecimal.ZERO)
+          .timestamp(Instant.now())
+          .build();
+
+    return ledger.append(Collections.singletonList(opening))
+          .onErrorResume(error -> {
+            log.error("Could not record opening entry for account {}: {}",
+                  account.getAccountNumber(), error.getMessage());
+            return Mono.empty();
+          });
+  }
+
   // ============================================================
   // ✅ Eliminación de cuenta
   // ============================================================
@@ -175,6 +277,16 @@ public class AccountService implements AccountInputPort {
   // ⚠️ Manejo de errores
   // ============================================================
 
+  /**
+   * Respuesta para una regla de negocio rechazada (sin excepción).
+   */
+  private AccountResponse toRejectedResponse(ValidationResult validation) {
+    log.warn("Account creation rejected: {}", validation.getRejection());
+    return responseMapper.toErrorResponse(
+          AccountConstants.HTTP_BAD_REQUEST,
+          validation.getReason());
+  }
+
   private Mono<AccountResponse> handleError(Throwable ex) {
     log.error("Unexpected error in account operation: {}", ex.getMessage(), ex);
 
@@ -190,6 +302,12 @@ public class AccountService implements AccountInputPort {
             ex.getMessage()));
     }
 
+    if (ex instanceof CustomerServiceUnavailableException) {
+      return Mono.just(responseMapper.toErrorResponse(
+            AccountConstants.HTTP_SERVICE_UNAVAILABLE,
+            AccountConstants.CUSTOMER_SERVICE_UNAVAILABLE));
+    }
+
     if (ex instanceof AccountNotFoundException) {
       return Mono.just(responseMapper.toErrorResponse(
             AccountConstants.HTTP_NOT_FOUND,
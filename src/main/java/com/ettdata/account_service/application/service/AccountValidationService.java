@@ -2,20 +2,40 @@ package com.ettdata.account_service.application.service;
 
 import com.ettdata.account_service.application.port.in.TransactionValidationInput;
 import com.ettdata.account_service.application.port.out.AccountRepositoryOutputPort;
+import com.ettdata.account_service.application.port.out.MovementLedgerOutputPort;
+import com.ettdata.account_service.application.port.out.TransactionIdempotencyOutputPort;
 import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountMovement;
+import com.ettdata.account_service.domain.model.AccountRule;
+import com.ettdata.account_service.domain.model.AccountTransfer;
+import com.ettdata.account_service.domain.model.LedgerEntry;
+import com.ettdata.account_service.domain.model.LedgerEntryType;
+import com.ettdata.account_service.domain.model.Money;
+import com.ettdata.account_service.domain.model.MovementPeriod;
+import com.ettdata.account_service.domain.model.MovementResult;
+import com.ettdata.account_service.domain.model.ValidationRejection;
+import com.ettdata.account_service.domain.model.ValidationResult;
+import com.ettdata.account_service.infrastructure.utils.AccountStripedExecutor;
 import com.ettdata.account_service.infrastructure.utils.AccountValidator;
 import com.ettdata.avro.AccountValidationRequest;
 import com.ettdata.avro.AccountValidationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Servicio de validación de transacciones bancarias
- * Maneja depósitos, retiros y transferencias con validaciones de límites y comisiones
+ * Maneja depósitos, retiros y transferencias con validaciones de límites y comisiones.
+ * Montos, saldos y comisiones se operan en céntimos (long, ver Money); la conversión
+ * desde/hacia decimal ocurre al leer la solicitud, al persistir y al armar la respuesta.
  */
 @Slf4j
 @Service
@@ -24,6 +44,27 @@ public class AccountValidationService implements TransactionValidationInput {
 
   private final AccountRepositoryOutputPort accountRepository;
   private final AccountValidator accountValidator;
+  private final AccountStripedExecutor stripedExecutor;
+  private final TransactionIdempotencyOutputPort idempotencyStore;
+  private final MovementLedgerOutputPort ledger;
+  private final MeterRegistry meterRegistry;
+
+  // Reintentos cuando la cuenta cambia de tramo de movimientos entre la lectura y la actualización
+  private static final int MAX_MOVEMENT_ATTEMPTS = 3;
+
+  // Rechazos de la validación básica de la solicitud
+  private static final ValidationResult INVALID_AMOUNT =
+        ValidationResult.rejected(ValidationRejection.INVALID_AMOUNT, "El monto debe ser mayor a cero");
+  private static final ValidationResult INVALID_ACCOUNT_NUMBER =
+        ValidationResult.rejected(ValidationRejection.INVALID_ACCOUNT_NUMBER, "Número de cuenta inválido");
+  private static final ValidationResult SAME_ACCOUNT_TRANSFER =
+        ValidationResult.rejected(ValidationRejection.SAME_ACCOUNT_TRANSFER,
+              "La cuenta destino debe ser distinta de la de origen");
+
+  // Métricas: latencia por tipo de transacción y respuestas por tipo y codResponse
+  private static final String VALIDATION_TIMER = "account.validation";
+  private static final String RESPONSES_COUNTER = "account.validation.responses";
+  private static final String LEDGER_FAILURES_COUNTER = "account.ledger.append.failures";
 
   // ==================== OPERACIONES PRINCIPALES ====================
 
@@ -34,13 +75,17 @@ public class AccountValidationService implements TransactionValidationInput {
   public Mono<AccountValidationResponse> retiro(AccountValidationRequest request) {
     log.info("🔄 Procesando validación de retiro para transactionId={}", request.getTransactionId());
 
-    return validateRequest(request)
-          .flatMap(validRequest ->
-                accountRepository.findByNumberAccount(String.valueOf(validRequest.getAccountNumber()))
-                      .flatMap(account -> validateAndProcessWithdraw(validRequest, account))
-                      .switchIfEmpty(buildAccountNotFoundResponse(validRequest))
-          )
-          .onErrorResume(error -> buildErrorResponse(request, error));
+    ValidationResult validation = validateRequest(request);
+    if (!validation.isValid()) {
+      return measured("WITHDRAWAL", Mono.fromSupplier(() -> buildValidationErrorResponse(request, validation)));
+    }
+
+    return measured("WITHDRAWAL", stripedExecutor.execute(String.valueOf(request.getAccountNumber()), () ->
+                idempotent(request, () ->
+                      accountRepository.findByNumberAccount(String.valueOf(request.getAccountNumber()))
+                            .flatMap(account -> validateAndProcessWithdraw(request, account, MAX_MOVEMENT_ATTEMPTS))
+                            .switchIfEmpty(buildAccountNotFoundResponse(request))))
+          .onErrorResume(error -> buildErrorResponse(request, error)));
   }
 
   /**
@@ -50,13 +95,17 @@ public class AccountValidationService implements TransactionValidationInput {
   public Mono<AccountValidationResponse> deposito(AccountValidationRequest request) {
     log.info("🔄 Procesando validación de depósito para transactionId={}", request.getTransactionId());
 
-    return validateRequest(request)
-          .flatMap(validRequest ->
-                accountRepository.findByNumberAccount(String.valueOf(validRequest.getAccountNumber()))
-                      .flatMap(account -> validateAndProcessDeposit(validRequest, account))
-                      .switchIfEmpty(buildAccountNotFoundResponse(validRequest))
-          )
-          .onErrorResume(error -> buildErrorResponse(request, error));
+    ValidationResult validation = validateRequest(request);
+    if (!validation.isValid()) {
+      return measured("DEPOSIT", Mono.fromSupplier(() -> buildValidationErrorResponse(request, validation)));
+    }
+
+    return measured("DEPOSIT", stripedExecutor.execute(String.valueOf(request.getAccountNumber()), () ->
+                idempotent(request, () ->
+                      accountRepository.findByNumberAccount(String.valueOf(request.getAccountNumber()))
+                            .flatMap(account -> validateAndProcessDeposit(request, account, MAX_MOVEMENT_ATTEMPTS))
+                            .switchIfEmpty(buildAccountNotFoundResponse(request))))
+          .onErrorResume(error -> buildErrorResponse(request, error)));
   }
 
   /**
@@ -67,16 +116,86 @@ public class AccountValidationService implements TransactionValidationInput {
     log.info("🔄 Procesando validación de transferencia para transactionId={}", request.getTransactionId());
 
     if (request.getTargetAccountNumber() == null || request.getTargetAccountNumber().isBlank()) {
-      return Mono.just(buildTargetMissingResponse(request));
+      return measured("TRANSFER", Mono.fromSupplier(() -> buildTargetMissingResponse(request)));
     }
 
-    return validateRequest(request)
-          .flatMap(validRequest ->
-                accountRepository.findByNumberAccount(String.valueOf(validRequest.getAccountNumber()))
-                      .flatMap(account -> validateAndProcessTransfer(validRequest, account))
-                      .switchIfEmpty(buildAccountNotFoundResponse(validRequest))
-          )
-          .onErrorResume(error -> buildErrorResponse(request, error));
+    ValidationResult validation = validateRequest(request);
+    if (!validation.isValid()) {
+      return measured("TRANSFER", Mono.fromSupplier(() -> buildValidationErrorResponse(request, validation)));
+    }
+
+    String sourceNumber = String.valueOf(request.getAccountNumber());
+    String targetNumber = String.valueOf(request.getTargetAccountNumber());
+
+    // Origen = destino: un solo carril y una sola cuenta leída; cargo y abono se pisarían sobre la misma cuenta
+    if (sourceNumber.equals(targetNumber)) {
+      return measured("TRANSFER",
+            Mono.fromSupplier(() -> buildValidationErrorResponse(request, SAME_ACCOUNT_TRANSFER)));
+    }
+
+    // Se retienen los carriles de ambas cuentas (en orden fijo) durante toda la transferencia
+    return measured("TRANSFER", stripedExecutor.execute(sourceNumber, targetNumber, () ->
+                idempotent(request, () ->
+                      // Origen y destino en una sola consulta ($in)
+                      accountRepository.findByNumberAccounts(Arrays.asList(sourceNumber, targetNumber))
+                            .collectMap(Account::getAccountNumber)
+                            .flatMap(accounts -> {
+                              Account source = accounts.get(sourceNumber);
+                              if (source == null) {
+                                return buildAccountNotFoundResponse(request);
+                              }
+                              Account target = accounts.get(targetNumber);
+                              if (target == null) {
+                                return Mono.just(buildTargetMissingResponse(request));
+                              }
+                              return validateAndProcessTransfer(request, source, target, MAX_MOVEMENT_ATTEMPTS);
+                            })))
+          .onErrorResume(error -> buildErrorResponse(request, error)));
+  }
+
+  // ==================== MÉTRICAS ====================
+
+  /**
+   * Mide la latencia de la operación (incluye la espera en el carril de la cuenta)
+   * y cuenta la respuesta por tipo de transacción y codResponse
+   */
+  private Mono<AccountValidationResponse> measured(String transactionType, Mono<AccountValidationResponse> operation) {
+    return Mono.defer(() -> {
+      Timer.Sample sample = Timer.start(meterRegistry);
+      return operation
+            .doOnNext(response -> meterRegistry.counter(RESPONSES_COUNTER,
+                  "type", transactionType,
+                  "code", String.valueOf(response.getCodResponse())).increment())
+            .doFinally(signal -> sample.stop(meterRegistry.timer(VALIDATION_TIMER, "type", transactionType)));
+    });
+  }
+
+  // ==================== IDEMPOTENCIA ====================
+
+  /**
+   * Devuelve la respuesta ya calculada si la transacción fue procesada (reentrega de Kafka);
+   * en caso contrario ejecuta la operación y registra su respuesta definitiva
+   */
+  private Mono<AccountValidationResponse> idempotent(
+        AccountValidationRequest request,
+        Supplier<Mono<AccountValidationResponse>> operation) {
+
+    String transactionId = String.valueOf(request.getTransactionId());
+
+    return idempotencyStore.findProcessedResponse(transactionId)
+          .doOnNext(previous -> log.info("♻️ Transacción ya procesada, se devuelve la respuesta previa: transactionId={}",
+                transactionId))
+          .switchIfEmpty(Mono.defer(() -> operation.get()
+                .flatMap(response -> isFinalResponse(response)
+                      ? idempotencyStore.saveProcessedResponse(response)
+                      : Mono.just(response))));
+  }
+
+  /**
+   * Los errores internos y los conflictos de concurrencia no se registran para permitir reintentar
+   */
+  private boolean isFinalResponse(AccountValidationResponse response) {
+    return response.getCodResponse() != 500 && response.getCodResponse() != 409;
   }
 
   // ==================== VALIDACIONES GENERALES ====================
@@ -84,23 +203,31 @@ public class AccountValidationService implements TransactionValidationInput {
   /**
    * Valida campos básicos de la solicitud
    */
-  private Mono<AccountValidationRequest> validateRequest(AccountValidationRequest request) {
-    if (request.getAmount() <= 0) {
-      return Mono.error(new IllegalArgumentException("El monto debe ser mayor a cero"));
+  private ValidationResult validateRequest(AccountValidationRequest request) {
+    if (request.getAmountMinor() != null ? request.getAmountMinor() <= 0 : !isValidAmount(request.getAmount())) {
+      return INVALID_AMOUNT;
     }
 
     if (request.getAccountNumber() == null || request.getAccountNumber().isBlank()) {
-      return Mono.error(new IllegalArgumentException("Número de cuenta inválido"));
+      return INVALID_ACCOUNT_NUMBER;
     }
 
-    return Mono.just(request);
+    return ValidationResult.valid();
+  }
+
+  /**
+   * amount debe ser representable en céntimos y no redondear a cero
+   */
+  private boolean isValidAmount(Double amount) {
+    return amount != null && amount > 0 && amount <= Money.MAX_EXACT_AMOUNT && Money.fromDouble(amount) > 0;
   }
 
   /**
-   * Verifica si la cuenta tiene fondos suficientes
+   * Monto de la solicitud en céntimos: amountMinor si viene informado, si no amount convertido.
+   * Solo se invoca con solicitudes que pasaron validateRequest
    */
-  private boolean hasInsufficientFunds(Account account, BigDecimal amount) {
-    return account.getBalance().compareTo(amount) < 0;
+  private long requestAmount(AccountValidationRequest request) {
+    return request.getAmountMinor() != null ? request.getAmountMinor() : Money.fromDouble(request.getAmount());
   }
 
   // ==================== RETIRO ====================
@@ -109,70 +236,74 @@ public class AccountValidationService implements TransactionValidationInput {
    * Valida y procesa un retiro
    * - Valida límite de movimientos según tipo de cuenta
    * - Calcula comisión si aplica (solo CURRENT después de 20 movimientos)
-   * - Valida fondos suficientes
+   * - Fondos suficientes (incluyendo comisión): guarda de la actualización atómica
    */
   private Mono<AccountValidationResponse> validateAndProcessWithdraw(
         AccountValidationRequest request,
-        Account account) {
+        Account account,
+        int attempts) {
 
     log.info("🔍 Cuenta encontrada: {}, saldo: {}, {}",
           account.getAccountNumber(),
           account.getBalance(),
           accountValidator.getMovementStatus(account));
 
-    BigDecimal requestAmount = BigDecimal.valueOf(request.getAmount());
+    long requestAmount = requestAmount(request);
+    // Una sola instantánea de la política para límite, comisión y rango del movimiento
+    AccountRule rule = accountValidator.ruleFor(account);
 
     // 1. Validar límite de movimientos (BLOQUEA si se excede para SAVINGS y FIXED_TERM)
-    return accountValidator.validateMovementLimit(account)
-          .then(Mono.defer(() -> {
-            // 2. Calcular comisión si aplica (solo CURRENT)
-            BigDecimal commission = accountValidator.calculateMovementCommission(account);
-            BigDecimal totalAmount = requestAmount.add(commission);
-
-            if (commission.compareTo(BigDecimal.ZERO) > 0) {
-              log.info("💰 Retiro con comisión: monto={}, comisión={}, total={}",
-                    requestAmount, commission, totalAmount);
-            } else {
-              log.info("💰 Retiro sin comisión: monto={}", requestAmount);
-            }
+    ValidationResult movementLimit = accountValidator.validateMovementLimit(account, rule);
+    if (!movementLimit.isValid()) {
+      return Mono.just(buildValidationErrorResponse(request, movementLimit));
+    }
 
-            // 3. Validar fondos suficientes (incluyendo comisión)
-            if (hasInsufficientFunds(account, totalAmount)) {
-              log.warn("⚠️ Fondos insuficientes: saldo={}, total requerido={}",
-                    account.getBalance(), totalAmount);
-              return Mono.just(buildInsufficientFundsResponse(request, commission));
-            }
+    // 2. Calcular comisión si aplica (solo CURRENT)
+    long commission = accountValidator.calculateMovementCommission(account, rule);
+    long totalAmount = Math.addExact(requestAmount, commission);
 
-            // 4. Procesar retiro
-            return processWithdraw(request, account, requestAmount, commission);
-          }))
-          .onErrorResume(error -> {
-            log.error("❌ Error en validación: {}", error.getMessage());
-            return Mono.just(buildValidationErrorResponse(request, error.getMessage()));
-          });
+    if (commission > 0) {
+      log.info("💰 Retiro con comisión: monto={}, comisión={}, total={}",
+            Money.format(requestAmount), Money.format(commission), Money.format(totalAmount));
+    } else {
+      log.info("💰 Retiro sin comisión: monto={}", Money.format(requestAmount));
+    }
+
+    // 3. Procesar retiro: la guarda de saldo (monto + comisión) se evalúa en la misma actualización,
+    //    no sobre la cuenta leída (puede venir de la caché)
+    return processWithdraw(request, account, rule, requestAmount, commission, attempts);
   }
 
   /**
-   * Ejecuta el retiro y actualiza el saldo y contador de movimientos
+   * Ejecuta el retiro con una actualización atómica guardada de saldo y contador de movimientos
    */
   private Mono<AccountValidationResponse> processWithdraw(
         AccountValidationRequest request,
         Account account,
-        BigDecimal amount,
-        BigDecimal commission) {
-
-    BigDecimal totalDeducted = amount.add(commission);
-    account.setBalance(account.getBalance().subtract(totalDeducted));
-    account.setCantMovements(account.getCantMovements() + 1);
+        AccountRule rule,
+        long amount,
+        long commission,
+        int attempts) {
+
+    long totalDeducted = Math.addExact(amount, commission);
+    LedgerEntry entry = ledgerEntry(request, account.getAccountNumber(), LedgerEntryType.WITHDRAWAL,
+          -totalDeducted, commission);
+
+    return accountRepository.applyMovement(
+                buildMovement(transactionIdOf(request), account, rule, -totalDeducted, totalDeducted, entry))
+          .flatMap(result -> {
+            if (!result.isApplied()) {
+              return handleRejection(request, result, commission, attempts,
+                    current -> validateAndProcessWithdraw(request, current, attempts - 1));
+            }
 
-    return accountRepository.saveOrUpdateAccount(account)
-          .map(updated -> {
+            Account updated = result.getAccount();
             log.info("✅ Retiro aplicado: cuenta={}, nuevo saldo={}, movimientos={}, comisión={}",
                   updated.getAccountNumber(),
                   updated.getBalance(),
                   updated.getCantMovements(),
-                  commission);
-            return buildWithdrawSuccessResponse(request, commission);
+                  Money.format(commission));
+            return recordInLedger(buildWithdrawSuccessResponse(request, commission), entry);
           });
   }
 
@@ -185,57 +316,64 @@ public class AccountValidationService implements TransactionValidationInput {
    */
   private Mono<AccountValidationResponse> validateAndProcessDeposit(
         AccountValidationRequest request,
-        Account account) {
+        Account account,
+        int attempts) {
 
     log.info("🔍 Cuenta encontrada para depósito: {}, {}",
           account.getAccountNumber(),
           accountValidator.getMovementStatus(account));
 
+    AccountRule rule = accountValidator.ruleFor(account);
+
     // 1. Validar límite de movimientos (BLOQUEA si se excede para SAVINGS y FIXED_TERM)
-    return accountValidator.validateMovementLimit(account)
-          .then(Mono.defer(() -> {
-            // 2. Calcular comisión si aplica (solo CURRENT)
-            BigDecimal commission = accountValidator.calculateMovementCommission(account);
-            BigDecimal amount = BigDecimal.valueOf(request.getAmount());
-            BigDecimal netDeposit = amount.subtract(commission);
-
-            if (commission.compareTo(BigDecimal.ZERO) > 0) {
-              log.info("💰 Depósito con comisión: monto={}, comisión={}, neto={}",
-                    amount, commission, netDeposit);
-            } else {
-              log.info("💰 Depósito sin comisión: monto={}", amount);
-            }
+    ValidationResult movementLimit = accountValidator.validateMovementLimit(account, rule);
+    if (!movementLimit.isValid()) {
+      return Mono.just(buildValidationErrorResponse(request, movementLimit));
+    }
 
-            // 3. Procesar depósito
-            return processDeposit(request, account, amount, commission, netDeposit);
-          }))
-          .onErrorResume(error -> {
-            log.error("❌ Error en validación de depósito: {}", error.getMessage());
-            return Mono.just(buildValidationErrorResponse(request, error.getMessage()));
-          });
+    // 2. Calcular comisión si aplica (solo CURRENT)
+    long commission = accountValidator.calculateMovementCommission(account, rule);
+    long amount = requestAmount(request);
+    long netDeposit = Math.subtractExact(amount, commission);
+
+    if (commission > 0) {
+      log.info("💰 Depósito con comisión: monto={}, comisión={}, neto={}",
+            Money.format(amount), Money.format(commission), Money.format(netDeposit));
+    } else {
+      log.info("💰 Depósito sin comisión: monto={}", Money.format(amount));
+    }
+
+    // 3. Procesar depósito
+    return processDeposit(request, account, rule, commission, netDeposit, attempts);
   }
 
   /**
-   * Ejecuta el depósito y actualiza el saldo y contador de movimientos
+   * Ejecuta el depósito con una actualización atómica guardada de saldo y contador de movimientos
    */
   private Mono<AccountValidationResponse> processDeposit(
         AccountValidationRequest request,
         Account account,
-        BigDecimal amount,
-        BigDecimal commission,
-        BigDecimal netDeposit) {
-
-    account.setBalance(account.getBalance().add(netDeposit));
-    account.setCantMovements(account.getCantMovements() + 1);
+        AccountRule rule,
+        long commission,
+        long netDeposit,
+        int attempts) {
+
+    LedgerEntry entry = ledgerEntry(request, account.getAccountNumber(), LedgerEntryType.DEPOSIT, netDeposit, commission);
+
+    return accountRepository.applyMovement(buildMovement(transactionIdOf(request), account, rule, netDeposit, null, entry))
+          .flatMap(result -> {
+            if (!result.isApplied()) {
+              return handleRejection(request, result, commission, attempts,
+                    current -> validateAndProcessDeposit(request, current, attempts - 1));
+            }
 
-    return accountRepository.saveOrUpdateAccount(account)
-          .map(updated -> {
+            Account updated = result.getAccount();
             log.info("✅ Depósito aplicado: cuenta={}, nuevo saldo={}, movimientos={}, comisión={}",
                   updated.getAccountNumber(),
                   updated.getBalance(),
                   updated.getCantMovements(),
-                  commission);
-            return buildDepositSuccessResponse(request, commission);
+                  Money.format(commission));
+            return recordInLedger(buildDepositSuccessResponse(request, commission), entry);
           });
   }
 
@@ -245,80 +383,189 @@ public class AccountValidationService implements TransactionValidationInput {
    * Valida y procesa una transferencia entre cuentas
    * - Valida límite de movimientos de cuenta origen
    * - Calcula comisión si aplica (solo CURRENT)
-   * - Valida fondos suficientes
-   * - Valida que exista cuenta destino
+   * - Fondos suficientes: guarda del cargo en la actualización atómica
+   * La cuenta destino ya fue leída junto con la de origen
    */
   private Mono<AccountValidationResponse> validateAndProcessTransfer(
         AccountValidationRequest request,
-        Account sourceAccount) {
+        Account sourceAccount,
+        Account targetAccount,
+        int attempts) {
 
-    BigDecimal requestAmount = BigDecimal.valueOf(request.getAmount());
+    long requestAmount = requestAmount(request);
+
+    AccountRule rule = accountValidator.ruleFor(sourceAccount);
 
     // 1. Validar límite de movimientos de cuenta origen
-    return accountValidator.validateMovementLimit(sourceAccount)
-          .then(Mono.defer(() -> {
-            // 2. Calcular comisión
-            BigDecimal commission = accountValidator.calculateMovementCommission(sourceAccount);
-            BigDecimal totalAmount = requestAmount.add(commission);
-
-            if (commission.compareTo(BigDecimal.ZERO) > 0) {
-              log.info("💰 Transferencia con comisión: monto={}, comisión={}, total={}",
-                    requestAmount, commission, totalAmount);
-            } else {
-              log.info("💰 Transferencia sin comisión: monto={}", requestAmount);
-            }
+    ValidationResult movementLimit = accountValidator.validateMovementLimit(sourceAccount, rule);
+    if (!movementLimit.isValid()) {
+      return Mono.just(buildValidationErrorResponse(request, movementLimit));
+    }
 
-            // 3. Validar fondos suficientes
-            if (hasInsufficientFunds(sourceAccount, totalAmount)) {
-              log.warn("⚠️ Fondos insuficientes para transferencia: saldo={}, total requerido={}",
-                    sourceAccount.getBalance(), totalAmount);
-              return Mono.just(buildInsufficientFundsResponse(request, commission));
-            }
+    // 2. Calcular comisión
+    long commission = accountValidator.calculateMovementCommission(sourceAccount, rule);
+    long totalAmount = Math.addExact(requestAmount, commission);
 
-            // 4. Buscar cuenta destino y procesar
-            return accountRepository.findByNumberAccount(request.getTargetAccountNumber().toString())
-                  .flatMap(targetAccount ->
-                        processTransfer(request, sourceAccount, targetAccount, requestAmount, commission)
-                  )
-                  .switchIfEmpty(Mono.just(buildTargetMissingResponse(request)));
-          }))
-          .onErrorResume(error -> {
-            log.error("❌ Error en validación de transferencia: {}", error.getMessage());
-            return Mono.just(buildValidationErrorResponse(request, error.getMessage()));
-          });
+    if (commission > 0) {
+      log.info("💰 Transferencia con comisión: monto={}, comisión={}, total={}",
+            Money.format(requestAmount), Money.format(commission), Money.format(totalAmount));
+    } else {
+      log.info("💰 Transferencia sin comisión: monto={}", Money.format(requestAmount));
+    }
+
+    // 3. Procesar: la guarda de saldo del cargo se evalúa en la misma actualización
+    return processTransfer(request, sourceAccount, targetAccount, rule, requestAmount, commission, attempts);
   }
 
   /**
-   * Ejecuta la transferencia actualizando ambas cuentas
+   * Ejecuta la transferencia: cargo guardado en la cuenta origen y abono en la cuenta destino,
+   * aplicados como una unidad por el repositorio (account.transfer.mode)
    */
   private Mono<AccountValidationResponse> processTransfer(
         AccountValidationRequest request,
         Account sourceAccount,
         Account targetAccount,
-        BigDecimal amount,
-        BigDecimal commission) {
-
-    // Actualizar cuenta origen (se descuenta monto + comisión)
-    sourceAccount.setBalance(sourceAccount.getBalance().subtract(amount).subtract(commission));
-    sourceAccount.setCantMovements(sourceAccount.getCantMovements() + 1);
-
-    // Actualizar cuenta destino (se acredita solo el monto, sin comisión)
-    targetAccount.setBalance(targetAccount.getBalance().add(amount));
-    targetAccount.setCantMovements(targetAccount.getCantMovements() + 1);
-
-    // Guardar ambas cuentas
-    return accountRepository.saveOrUpdateAccount(sourceAccount)
-          .then(accountRepository.saveOrUpdateAccount(targetAccount))
-          .thenReturn(buildTransferSuccessResponse(request, commission))
-          .doOnSuccess(response ->
-                log.info("✅ Transferencia completada: origen={} (saldo={}), destino={} (saldo={}), monto={}, comisión={}",
-                      sourceAccount.getAccountNumber(),
-                      sourceAccount.getBalance(),
-                      targetAccount.getAccountNumber(),
-                      targetAccount.getBalance(),
-                      amount,
-                      commission)
-          );
+        AccountRule rule,
+        long amount,
+        long commission,
+        int attempts) {
+
+    // Cuenta origen: se descuenta monto + comisión
+    long totalDeducted = Math.addExact(amount, commission);
+    LedgerEntry debitEntry = ledgerEntry(request, sourceAccount.getAccountNumber(), LedgerEntryType.TRANSFER_OUT,
+          -totalDeducted, commission);
+    LedgerEntry creditEntry = ledgerEntry(request, targetAccount.getAccountNumber(), LedgerEntryType.TRANSFER_IN,
+          amount, 0L);
+
+    // Cuenta destino: solo el monto, sin comisión y sin límite de movimientos.
+    // Cada pata con su propio id de transacción (ver AccountTransfer)
+    String transferId = transactionIdOf(request);
+    AccountTransfer transfer = AccountTransfer.builder()
+          .transferId(transferId)
+          .debit(buildMovement(AccountTransfer.debitTransactionId(transferId), sourceAccount, rule,
+                -totalDeducted, totalDeducted, debitEntry))
+          .credit(AccountMovement.builder()
+                .accountNumber(targetAccount.getAccountNumber())
+                .balanceDelta(amount)
+                .minMovements(0)
+                .maxMovements(Integer.MAX_VALUE)
+                .period(MovementPeriod.current())
+                .transactionId(AccountTransfer.creditTransactionId(transferId))
+                .ledgerEntry(creditEntry)
+                .build())
+          .build();
+
+    return accountRepository.applyTransfer(transfer)
+          .flatMap(result -> {
+            if (!result.isApplied()) {
+              return handleRejection(request, result.sourceResult(), commission, attempts,
+                    current -> validateAndProcessTransfer(request, current, targetAccount, attempts - 1));
+            }
+
+            Account updatedSource = result.getSource();
+            Account updatedTarget = result.getTarget();
+            log.info("✅ Transferencia completada: origen={} (saldo={}), destino={} (saldo={}), monto={}, comisión={}",
+                  updatedSource.getAccountNumber(),
+                  updatedSource.getBalance(),
+                  updatedTarget.getAccountNumber(),
+                  updatedTarget.getBalance(),
+                  Money.format(amount),
+                  Money.format(commission));
+            return recordInLedger(buildTransferSuccessResponse(request, commission), debitEntry, creditEntry);
+          });
+  }
+
+  // ==================== LIBRO DE MOVIMIENTOS ====================
+
+  /**
+   * Registra en el libro los asientos de un movimiento ya aplicado (una sola inserción).
+   * Los asientos ya quedaron guardados en la cuenta (pendingLedger) con el cambio de saldo: si la
+   * inserción falla se registra, la respuesta no cambia y LedgerRecoveryScheduler los inserta después
+   */
+  private Mono<AccountValidationResponse> recordInLedger(AccountValidationResponse response, LedgerEntry... entries) {
+    return ledger.append(Arrays.asList(entries))
+          .onErrorResume(error -> {
+            log.error("❌ No se pudo registrar el movimiento en el libro: transactionId={}, {}",
+                  response.getTransactionId(), error.getMessage());
+            meterRegistry.counter(LEDGER_FAILURES_COUNTER).increment();
+            return Mono.empty();
+          })
+          .thenReturn(response);
+  }
+
+  private LedgerEntry ledgerEntry(AccountValidationRequest request, String accountNumber,
+                                  LedgerEntryType type, long amount, long commission) {
+    return LedgerEntry.builder()
+          .transactionId(String.valueOf(request.getTransactionId()))
+          .accountNumber(accountNumber)
+          .type(type)
+          .amount(Money.toDecimal(amount))
+          .commission(Money.toDecimal(commission))
+          .timestamp(Instant.now())
+          .build();
+  }
+
+  // ==================== MOVIMIENTOS ATÓMICOS ====================
+
+  /**
+   * Construye el movimiento guardado: el rango de movimientos fija el límite del tipo de cuenta
+   * y el tramo de comisión con el que se calculó el monto. El periodo se fija aquí para que una
+   * compensación descuente el mismo mes aunque se ejecute después del cambio de mes.
+   * El transactionId hace que una reentrega no se aplique dos veces sobre la misma cuenta, y el asiento
+   * del libro se guarda en la cuenta en la misma actualización que el saldo
+   */
+  private AccountMovement buildMovement(String transactionId, Account account, AccountRule rule,
+                                        long balanceDelta, Long requiredBalance, LedgerEntry entry) {
+    return AccountMovement.builder()
+          .accountNumber(account.getAccountNumber())
+          .balanceDelta(balanceDelta)
+          .requiredBalance(requiredBalance)
+          .minMovements(accountValidator.getMovementFloor(account, rule))
+          .maxMovements(accountValidator.getMovementCeiling(account, rule))
+          .period(MovementPeriod.current())
+          .transactionId(transactionId)
+          .ledgerEntry(entry)
+          .build();
+  }
+
+  private String transactionIdOf(AccountValidationRequest request) {
+    return String.valueOf(request.getTransactionId());
+  }
+
+  /**
+   * Traduce un rechazo de la actualización atómica. Si la cuenta cambió de tramo de movimientos
+   * se vuelve a validar con el estado actual (hasta MAX_MOVEMENT_ATTEMPTS intentos)
+   */
+  private Mono<AccountValidationResponse> handleRejection(
+        AccountValidationRequest request,
+        MovementResult result,
+        long commission,
+        int attempts,
+        Function<Account, Mono<AccountValidationResponse>> retry) {
+
+    switch (result.getRejection()) {
+      case ACCOUNT_NOT_FOUND:
+        return buildAccountNotFoundResponse(request);
+
+      case INSUFFICIENT_FUNDS:
+        log.warn("⚠️ Fondos insuficientes al aplicar movimiento: saldo={}", result.getAccount().getBalance());
+        return Mono.just(buildInsufficientFundsResponse(request, commission));
+
+      case TARGET_NOT_FOUND:
+        return Mono.just(buildTargetMissingResponse(request));
+
+      case TRANSFER_IN_PROGRESS:
+        return Mono.just(buildConcurrentModificationResponse(request));
+
+      default:
+        if (attempts <= 1) {
+          log.warn("⚠️ Cuenta modificada concurrentemente, se agotaron los reintentos: {}",
+                request.getAccountNumber());
+          return Mono.just(buildConcurrentModificationResponse(request));
+        }
+        log.debug("🔁 Cuenta modificada concurrentemente, revalidando: {}", request.getAccountNumber());
+        return retry.apply(result.getAccount());
+    }
   }
 
   // ==================== RESPONSE BUILDERS ====================
@@ -328,9 +575,9 @@ public class AccountValidationService implements TransactionValidationInput {
    */
   private AccountValidationResponse buildWithdrawSuccessResponse(
         AccountValidationRequest request,
-        BigDecimal commission) {
-    String message = commission.compareTo(BigDecimal.ZERO) > 0
-          ? String.format("Retiro registrado. Comisión aplicada: S/ %.2f", commission)
+        long commission) {
+    String message = commission > 0
+          ? "Retiro registrado. Comisión aplicada: S/ " + Money.format(commission)
           : "Retiro registrado correctamente";
 
     return AccountValidationResponse.newBuilder()
@@ -346,9 +593,9 @@ public class AccountValidationService implements TransactionValidationInput {
    */
   private AccountValidationResponse buildDepositSuccessResponse(
         AccountValidationRequest request,
-        BigDecimal commission) {
-    String message = commission.compareTo(BigDecimal.ZERO) > 0
-          ? String.format("Depósito registrado. Comisión descontada: S/ %.2f", commission)
+        long commission) {
+    String message = commission > 0
+          ? "Depósito registrado. Comisión descontada: S/ " + Money.format(commission)
           : "Depósito registrado correctamente";
 
     return AccountValidationResponse.newBuilder()
@@ -364,9 +611,9 @@ public class AccountValidationService implements TransactionValidationInput {
    */
   private AccountValidationResponse buildTransferSuccessResponse(
         AccountValidationRequest request,
-        BigDecimal commission) {
-    String message = commission.compareTo(BigDecimal.ZERO) > 0
-          ? String.format("Transferencia registrada. Comisión aplicada: S/ %.2f", commission)
+        long commission) {
+    String message = commission > 0
+          ? "Transferencia registrada. Comisión aplicada: S/ " + Money.format(commission)
           : "Transferencia registrada correctamente";
 
     return AccountValidationResponse.newBuilder()
@@ -382,9 +629,9 @@ public class AccountValidationService implements TransactionValidationInput {
    */
   private AccountValidationResponse buildInsufficientFundsResponse(
         AccountValidationRequest request,
-        BigDecimal commission) {
-    String message = commission.compareTo(BigDecimal.ZERO) > 0
-          ? String.format("Fondos insuficientes (incluye comisión de S/ %.2f)", commission)
+        long commission) {
+    String message = commission > 0
+          ? "Fondos insuficientes (incluye comisión de S/ " + Money.format(commission) + ")"
           : "Fondos insuficientes";
 
     return AccountValidationResponse.newBuilder()
@@ -438,17 +685,32 @@ public class AccountValidationService implements TransactionValidationInput {
           .build();
   }
 
+  /**
+   * Construye respuesta de cuenta modificada concurrentemente
+   */
+  private AccountValidationResponse buildConcurrentModificationResponse(AccountValidationRequest request) {
+    return AccountValidationResponse.newBuilder()
+          .setTransactionId(request.getTransactionId())
+          .setAccountNumber(request.getAccountNumber())
+          .setCodResponse(409)
+          .setMessageResponse("La cuenta fue modificada concurrentemente, reintente la operación")
+          .build();
+  }
+
   /**
    * Construye respuesta de error de validación
    */
   private AccountValidationResponse buildValidationErrorResponse(
         AccountValidationRequest request,
-        String errorMessage) {
+        ValidationResult validation) {
+    log.warn("❌ Validación rechazada: transactionId={}, motivo={}",
+          request.getTransactionId(), validation.getRejection());
+
     return AccountValidationResponse.newBuilder()
           .setTransactionId(request.getTransactionId())
           .setAccountNumber(request.getAccountNumber())
           .setCodResponse(400)
-          .setMessageResponse(errorMessage)
+          .setMessageResponse(validation.getReason())
           .build();
   }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.ettdata.account_service.domain.error;
+
+/**
+ * El servicio de clientes no respondió (5xx, timeout, conexión) o el circuit breaker
+ * / bulkhead rechazó la llamada. No significa que el cliente no exista.
+ */
+public class CustomerServiceUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public CustomerServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public CustomerServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
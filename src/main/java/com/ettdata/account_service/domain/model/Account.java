@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -24,7 +25,8 @@ public class Account {
     private LocalDate openingDate;
     private BigDecimal balance;
     private BigDecimal maintenanceFee;
-    private Integer cantMovements;
+    private Integer cantMovements; // Movements in the current month (derived from movements)
+    private Map<String, Integer> movements; // Movements per month, keyed yyyyMM
     private BigDecimal minimumOpeningAmount;
     private AccountStatus accountStatus;
 }
@@ -1,5 +1,6 @@
 package com.ettdata.account_service.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,4 +15,6 @@ import java.util.List;
 public class AccountListResponse {
     private List<Account> data;
     private String Error;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor; // Cursor de la siguiente página (solo en consultas paginadas)
 }
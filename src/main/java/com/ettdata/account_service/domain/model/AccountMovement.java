@@ -0,0 +1,30 @@
+package com.ettdata.account_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Movimiento a aplicar de forma atómica sobre una cuenta.
+ * La guarda (saldo requerido, rango de movimientos y transacción no aplicada) se evalúa en la misma
+ * operación que lo aplica.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AccountMovement {
+
+    private String accountNumber;
+    private long balanceDelta;            // Céntimos: positivo para abonos, negativo para cargos
+    private Long requiredBalance;         // Céntimos: saldo mínimo antes de aplicar (null = sin guarda de saldo)
+    private int minMovements;             // Movimientos del periodo >= minMovements
+    private int maxMovements;             // Movimientos del periodo < maxMovements
+    private String period;                // Periodo yyyyMM del contador (null = mes en curso)
+    private String transferId;            // Transferencia en diario que retiene la cuenta (null = sin retención)
+    private String transactionId;         // No se aplica si la cuenta ya registró este id (null = sin deduplicación)
+    private LedgerEntry ledgerEntry;      // Asiento guardado en la cuenta con el cambio de saldo (null = sin asiento)
+    @Builder.Default
+    private int movementCount = 1;        // Incremento del contador de movimientos
+}
@@ -0,0 +1,58 @@
+package com.ettdata.account_service.domain.model;
+
+import java.util.Map;
+
+/**
+ * Tabla de reglas precalculada: tipo de cuenta → regla base, y tipo de cliente × tipo de cuenta → regla.
+ * Las consultas son accesos por ordinal, sin comparar cadenas ni reservar memoria. Inmutable.
+ */
+public final class AccountPolicy {
+
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final CustomerType[] CUSTOMER_TYPES = CustomerType.values();
+
+    private final AccountRule[] byAccountType;
+    private final AccountRule[][] byCustomerType;
+
+    public AccountPolicy(Map<AccountType, AccountRule> accountRules,
+                         Map<CustomerType, Map<AccountType, AccountRule>> customerRules) {
+        this.byAccountType = new AccountRule[ACCOUNT_TYPES.length];
+        this.byCustomerType = new AccountRule[CUSTOMER_TYPES.length][ACCOUNT_TYPES.length];
+
+        for (AccountType accountType : ACCOUNT_TYPES) {
+            byAccountType[accountType.ordinal()] = require(accountRules.get(accountType), accountType.name());
+        }
+        for (CustomerType customerType : CUSTOMER_TYPES) {
+            Map<AccountType, AccountRule> rules = customerRules.get(customerType);
+            if (rules == null) {
+                throw new IllegalStateException("Missing account rules for customer type " + customerType);
+            }
+            for (AccountType accountType : ACCOUNT_TYPES) {
+                byCustomerType[customerType.ordinal()][accountType.ordinal()] =
+                        require(rules.get(accountType), customerType + "/" + accountType);
+            }
+        }
+    }
+
+    /**
+     * Regla base del tipo de cuenta (movimientos y comisión cuando no se conoce el tipo de cliente)
+     */
+    public AccountRule rule(AccountType accountType) {
+        return byAccountType[accountType.ordinal()];
+    }
+
+    public AccountRule rule(CustomerType customerType, AccountType accountType) {
+        return byCustomerType[customerType.ordinal()][accountType.ordinal()];
+    }
+
+    public boolean isAllowed(CustomerType customerType, AccountType accountType) {
+        return customerType != null && accountType != null && rule(customerType, accountType).isAllowed();
+    }
+
+    private static AccountRule require(AccountRule rule, String key) {
+        if (rule == null) {
+            throw new IllegalStateException("Missing account rule for " + key);
+        }
+        return rule;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ettdata.account_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Regla de un tipo de cuenta (y opcionalmente de un tipo de cliente): si se permite abrirla,
+ * límite mensual de movimientos, movimientos gratuitos, comisión por movimiento adicional
+ * y si cobra mantenimiento. Inmutable.
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class AccountRule {
+
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final boolean allowed;
+    private final int maxMovements;          // UNLIMITED = sin límite
+    private final int freeMovements;
+    private final long commission;           // Céntimos (Money)
+    private final boolean maintenanceFee;
+
+    public boolean hasMovementLimit() {
+        return maxMovements != UNLIMITED;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ettdata.account_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transferencia a aplicar como una unidad: cargo guardado en la cuenta origen y abono en la destino.
+ * Se aplican ambos movimientos o ninguno (ver account.transfer.mode).
+ * Cada pata se registra (recentTransactions) y retiene (pendingTransfers) su cuenta con su propio id,
+ * de modo que una pata nunca se toma por reentrega de la otra.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountTransfer {
+
+    private String transferId;            // Id de la transacción: clave del diario de transferencias
+    private AccountMovement debit;
+    private AccountMovement credit;
+
+    /**
+     * Id de transacción (y de retención) del cargo en la cuenta origen
+     */
+    public static String debitTransactionId(String transferId) {
+        return transferId + ":out";
+    }
+
+    /**
+     * Id de transacción (y de retención) del abono en la cuenta destino
+     */
+    public static String creditTransactionId(String transferId) {
+        return transferId + ":in";
+    }
+}
@@ -3,5 +3,23 @@ package com.ettdata.account_service.domain.model;
 public enum AccountType {
     SAVINGS,
     CURRENT,
-    FIXED_TERM
+    FIXED_TERM;
+
+    private static final AccountType[] VALUES = values();
+
+    /**
+     * Tipo de cuenta recibido como texto; null si no se reconoce
+     */
+    public static AccountType from(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        for (AccountType type : VALUES) {
+            if (type.name().equalsIgnoreCase(trimmed)) {
+                return type;
+            }
+        }
+        return null;
+    }
 }
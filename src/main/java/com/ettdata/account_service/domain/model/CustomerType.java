@@ -0,0 +1,26 @@
+package com.ettdata.account_service.domain.model;
+
+public enum CustomerType {
+    PERSONAL,
+    BUSINESS,
+    PYME,
+    VIP;
+
+    private static final CustomerType[] VALUES = values();
+
+    /**
+     * Tipo de cliente informado por el servicio de clientes; null si no se reconoce
+     */
+    public static CustomerType from(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        for (CustomerType type : VALUES) {
+            if (type.name().equalsIgnoreCase(trimmed)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
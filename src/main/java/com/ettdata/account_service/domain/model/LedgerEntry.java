@@ -0,0 +1,34 @@
+package com.ettdata.account_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Asiento del libro de movimientos (append-only): el saldo de una cuenta es la suma de sus asientos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntry {
+
+    private String id;
+    private String transactionId;
+    private String accountNumber;
+    private LedgerEntryType type;
+    private BigDecimal amount;        // Variación del saldo (comisión incluida): positivo abono, negativo cargo
+    private BigDecimal commission;    // Comisión cobrada en el movimiento
+    private Instant timestamp;
+
+    /**
+     * Id de transacción del asiento OPENING de una cuenta: uno por cuenta (índice único del libro)
+     */
+    public static String openingTransactionId(String accountNumber) {
+        return "OPENING-" + accountNumber;
+    }
+}
@@ -0,0 +1,12 @@
+package com.ettdata.account_service.domain.model;
+
+/**
+ * Tipo de asiento del libro de movimientos
+ */
+public enum LedgerEntryType {
+    OPENING,        // Saldo inicial de la cuenta
+    WITHDRAWAL,
+    DEPOSIT,
+    TRANSFER_OUT,   // Cargo en la cuenta origen
+    TRANSFER_IN     // Abono en la cuenta destino
+}
@@ -0,0 +1,23 @@
+package com.ettdata.account_service.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerHistoryResponse {
+    private String accountNumber;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal balance;       // Saldo según el libro (instantánea + asientos posteriores), solo en la primera página
+    private List<LedgerEntry> data;   // Asientos del más reciente al más antiguo
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;        // Cursor de la siguiente página (before)
+}
@@ -0,0 +1,50 @@
+package com.ettdata.account_service.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Montos en unidades mínimas (céntimos) representados como long.
+ * El camino transaccional compara, suma y resta céntimos sin crear objetos; la conversión
+ * a BigDecimal/double se hace solo en los bordes (Avro, Mongo y mensajes de respuesta).
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    // Por encima de este valor un double ya no distingue céntimos (≈ 2^53 / 100)
+    public static final double MAX_EXACT_AMOUNT = 9.0e13;
+
+    private static final long MINOR_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Monto decimal (p. ej. 12.5) a céntimos, redondeando al céntimo más cercano.
+     * Lanza ArithmeticException si no es finito o supera MAX_EXACT_AMOUNT.
+     */
+    public static long fromDouble(double amount) {
+        if (!(Math.abs(amount) <= MAX_EXACT_AMOUNT)) {
+            throw new ArithmeticException("Amount out of range: " + amount);
+        }
+        return Math.round(amount * MINOR_PER_UNIT);
+    }
+
+    public static long fromDecimal(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Texto con dos decimales ("12.50"), sin pasar por BigDecimal ni String.format
+     */
+    public static String format(long minor) {
+        long units = Math.abs(minor / MINOR_PER_UNIT);
+        long cents = Math.abs(minor % MINOR_PER_UNIT);
+        return (minor < 0 ? "-" : "") + units + (cents < 10 ? ".0" : ".") + cents;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ettdata.account_service.domain.model;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Periodo (mes calendario) de los contadores de movimientos: clave yyyyMM del mapa movements.
+ * Cada mes empieza sin clave, así el contador se "reinicia" al primer movimiento del mes
+ * en cada cuenta, sin un proceso masivo de reinicio.
+ */
+public final class MovementPeriod {
+
+    private static final DateTimeFormatter KEY_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private MovementPeriod() {
+    }
+
+    public static String current() {
+        return of(YearMonth.now());
+    }
+
+    public static String of(YearMonth month) {
+        return month.format(KEY_FORMAT);
+    }
+
+    /**
+     * Movimientos registrados en el periodo (0 si el mes aún no tiene clave)
+     */
+    public static int countFor(Map<String, Integer> movements, String period) {
+        if (movements == null) {
+            return 0;
+        }
+        Integer count = movements.get(period);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ettdata.account_service.domain.model;
+
+public enum MovementRejection {
+    ACCOUNT_NOT_FOUND,
+    INSUFFICIENT_FUNDS,
+    MOVEMENT_WINDOW_CHANGED,
+    TARGET_NOT_FOUND,           // Transferencia: la cuenta destino no existe, el cargo no se aplica o se revierte
+    TRANSFER_IN_PROGRESS        // Transferencia: ya hay un intento con el mismo id en el diario
+}
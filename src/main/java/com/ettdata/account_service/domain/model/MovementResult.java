@@ -0,0 +1,30 @@
+package com.ettdata.account_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de aplicar un {@link AccountMovement}: la cuenta actualizada,
+ * o el motivo del rechazo junto con el estado actual de la cuenta (si existe).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovementResult {
+
+    private Account account;
+    private MovementRejection rejection;
+
+    public static MovementResult applied(Account account) {
+        return new MovementResult(account, null);
+    }
+
+    public static MovementResult rejected(MovementRejection rejection, Account account) {
+        return new MovementResult(account, rejection);
+    }
+
+    public boolean isApplied() {
+        return rejection == null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ettdata.account_service.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de aplicar un {@link AccountTransfer}: ambas cuentas actualizadas,
+ * o el motivo del rechazo junto con el estado actual de la cuenta origen (si se conoce).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferResult {
+
+    private Account source;
+    private Account target;
+    private MovementRejection rejection;
+
+    public static TransferResult applied(Account source, Account target) {
+        return new TransferResult(source, target, null);
+    }
+
+    public static TransferResult rejected(MovementRejection rejection, Account source) {
+        return new TransferResult(source, null, rejection);
+    }
+
+    public boolean isApplied() {
+        return rejection == null;
+    }
+
+    /**
+     * El rechazo visto desde la cuenta origen, para tratarlo como el de un movimiento simple
+     */
+    public MovementResult sourceResult() {
+        return new MovementResult(source, rejection);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ettdata.account_service.domain.model;
+
+public enum ValidationRejection {
+    INVALID_AMOUNT,
+    INVALID_ACCOUNT_NUMBER,
+    MOVEMENT_LIMIT_REACHED,
+    MINIMUM_OPENING_BALANCE,
+    ACCOUNT_TYPE_NOT_ALLOWED,
+    ACCOUNT_ALREADY_EXISTS,
+    SAME_ACCOUNT_TRANSFER
+}
@@ -0,0 +1,40 @@
+package com.ettdata.account_service.domain.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Supplier;
+
+/**
+ * Resultado de una regla de negocio: válido, o el código y motivo del rechazo.
+ * Los rechazos son valores (sin excepciones ni stack traces); el resultado válido es una única instancia.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ValidationResult {
+
+    private static final ValidationResult VALID = new ValidationResult(null, null);
+
+    private final ValidationRejection rejection;
+    private final String reason;
+
+    public static ValidationResult valid() {
+        return VALID;
+    }
+
+    public static ValidationResult rejected(ValidationRejection rejection, String reason) {
+        return new ValidationResult(rejection, reason);
+    }
+
+    public boolean isValid() {
+        return rejection == null;
+    }
+
+    /**
+     * Encadena la siguiente regla solo si esta fue válida
+     */
+    public ValidationResult and(Supplier<ValidationResult> next) {
+        return isValid() ? next.get() : this;
+    }
+}
@@ -2,62 +2,129 @@ package com.ettdata.account_service.infrastructure.adapter;
 
 import com.ettdata.account_service.application.port.out.AccountRepositoryOutputPort;
 import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountMovement;
+import com.ettdata.account_service.domain.model.AccountTransfer;
+import com.ettdata.account_service.domain.model.MovementResult;
+import com.ettdata.account_service.domain.model.TransferResult;
 import com.ettdata.account_service.infrastructure.entity.AccountEntity;
 import com.ettdata.account_service.infrastructure.repository.AccountRepository;
 import com.ettdata.account_service.infrastructure.utils.AccountMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 @Component
 @Slf4j
 public class AccountAdapter implements AccountRepositoryOutputPort {
 
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
+    private final AccountMovementWriter movementWriter;
+    private final TransferEngine transferEngine;
+    private final MeterRegistry meterRegistry;
+
+    private static final String REPOSITORY_TIMER = "account.repository";
 
-    public AccountAdapter(AccountRepository accountRepository, AccountMapper accountMapper) {
+    public AccountAdapter(AccountRepository accountRepository, AccountMapper accountMapper,
+                          AccountMovementWriter movementWriter, TransferEngine transferEngine,
+                          MeterRegistry meterRegistry) {
         this.accountRepository = accountRepository;
       this.accountMapper = accountMapper;
+      this.movementWriter = movementWriter;
+      this.transferEngine = transferEngine;
+      this.meterRegistry = meterRegistry;
     }
 
     @Override
     public Flux<Account> findAllAccount() {
-        return accountRepository.findAll()
-              .map(accountMapper::toDomain);
+        return timed("findAllAccount", accountRepository.findAll()
+              .map(accountMapper::toDomain));
+    }
+
+    @Override
+    public Flux<Account> findAccountsAfter(String afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        Flux<AccountEntity> entities = afterId == null
+              ? accountRepository.findAllByOrderByIdAsc(page)
+              : accountRepository.findByIdGreaterThanOrderByIdAsc(afterId, page);
+        return timed("findAccountsAfter", entities.map(accountMapper::toDomain));
     }
 
     @Override
     public Mono<Account> saveOrUpdateAccount(Account account) {
       AccountEntity entity = accountMapper.toEntity(account);
-      return accountRepository.save(entity)
-            .map(accountMapper::toDomain);
+      return timed("saveOrUpdateAccount", accountRepository.save(entity)
+            .map(accountMapper::toDomain));
     }
 
     @Override
     public Mono<Account> findByIdAccount(String id) {
-      return accountRepository.findByAccountNumber(id)
-            .map(accountMapper::toDomain);
+      return timed("findByIdAccount", accountRepository.findByAccountNumber(id)
+            .map(accountMapper::toDomain));
     }
 
     @Override
     public Flux<Account> findByCustomerId(String customerId) {
         log.info("Buscando cuentas bancarias del cliente: {}", customerId);
-        return accountRepository.findByCustomerId(customerId)
-              .map(accountMapper::toDomain);
+        return timed("findByCustomerId", accountRepository.findByCustomerId(customerId)
+              .map(accountMapper::toDomain));
 
     }
 
     @Override
     public Mono<Void> deleteByIdAccount(String id) {
-      return accountRepository.deleteById(id);
+      return timed("deleteByIdAccount", accountRepository.deleteById(id));
     }
 
     @Override
     public Mono<Account> findByNumberAccount(String numberAccount) {
-        return accountRepository.findByAccountNumber(numberAccount)
-                .map(accountMapper::toDomain);
+        return timed("findByNumberAccount", accountRepository.findByAccountNumber(numberAccount)
+                .map(accountMapper::toDomain));
+    }
+
+    @Override
+    public Flux<Account> findByNumberAccounts(Collection<String> numberAccounts) {
+        return timed("findByNumberAccounts", accountRepository.findByAccountNumberIn(numberAccounts)
+                .map(accountMapper::toDomain));
+    }
+
+    @Override
+    public Mono<MovementResult> applyMovement(AccountMovement movement) {
+      return timed("applyMovement", movementWriter.apply(movement));
+    }
+
+    @Override
+    public Mono<TransferResult> applyTransfer(AccountTransfer transfer) {
+      return timed("applyTransfer", transferEngine.execute(transfer));
+    }
+
+    // ==================== MÉTRICAS ====================
+
+    /**
+     * Timer account.repository por operación, desde la suscripción hasta la terminación
+     */
+    private <T> Mono<T> timed(String operation, Mono<T> call) {
+      return Mono.defer(() -> {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return call.doFinally(signal -> sample.stop(repositoryTimer(operation, signal.name())));
+      });
+    }
+
+    private <T> Flux<T> timed(String operation, Flux<T> call) {
+      return Flux.defer(() -> {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return call.doFinally(signal -> sample.stop(repositoryTimer(operation, signal.name())));
+      });
+    }
+
+    private Timer repositoryTimer(String operation, String signal) {
+      return meterRegistry.timer(REPOSITORY_TIMER, "operation", operation, "signal", signal);
     }
 
 }
@@ -0,0 +1,254 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountMovement;
+import com.ettdata.account_service.domain.model.Money;
+import com.ettdata.account_service.domain.model.MovementPeriod;
+import com.ettdata.account_service.domain.model.MovementRejection;
+import com.ettdata.account_service.domain.model.MovementResult;
+import com.ettdata.account_service.infrastructure.config.IdempotencyProperties;
+import com.ettdata.account_service.infrastructure.config.MongoConversionConfig;
+import com.ettdata.account_service.infrastructure.entity.AccountEntity;
+import com.ettdata.account_service.infrastructure.entity.PendingLedgerEntry;
+import com.ettdata.account_service.infrastructure.utils.AccountMapper;
+import com.mongodb.MongoException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Movimientos guardados sobre accounts: cada uno es un único findAndModify ($inc sobre saldo
+ * y contador del periodo) cuya guarda se evalúa en la misma operación.
+ * Compartido por AccountAdapter (movimientos simples) y TransferEngine (cargo y abono de una transferencia).
+ * Con transactionId la guarda exige que la cuenta no lo haya aplicado ya (recentTransactions, acotada a los
+ * últimos account-recent-transactions): una reentrega no se aplica dos veces aunque el registro de
+ * idempotencia no la detecte, y devuelve la cuenta como aplicada.
+ * Con transferId el movimiento además retiene la cuenta (pendingTransfers) hasta confirmar la transferencia.
+ * Con ledgerEntry el asiento del libro se guarda en la cuenta (pendingLedger) en la misma actualización que
+ * el saldo; LedgerAdapter lo quita al insertarlo en movements, así un fallo o una caída no pierde el asiento.
+ * Un saldo heredado como String (anterior a Decimal128) no admite $inc ni la guarda de saldo: se convierte
+ * en el primer movimiento que lo encuentra y el movimiento se repite una vez.
+ */
+@Slf4j
+@Component
+public class AccountMovementWriter {
+
+  private static final String ACCOUNT_NUMBER = "accountNumber";
+  private static final String BALANCE = "balance";
+  private static final String MOVEMENTS_FIELD = "movements";            // Contadores por periodo: movements.<yyyyMM>
+  private static final String PENDING_TRANSFERS = "pendingTransfers";
+  private static final String RECENT_TRANSACTIONS = "recentTransactions";
+  private static final String PENDING_LEDGER = "pendingLedger";
+  private static final int TYPE_MISMATCH = 14;                          // $inc sobre un valor no numérico
+
+  private final AccountMapper accountMapper;
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final IdempotencyProperties idempotencyProperties;
+
+  public AccountMovementWriter(AccountMapper accountMapper, ReactiveMongoTemplate mongoTemplate,
+                               IdempotencyProperties idempotencyProperties) {
+    this.accountMapper = accountMapper;
+    this.mongoTemplate = mongoTemplate;
+    this.idempotencyProperties = idempotencyProperties;
+  }
+
+  public Mono<MovementResult> apply(AccountMovement movement) {
+    return modify(movement)
+          // Sin guarda de saldo el filtro coincide y el $inc sobre el String falla
+          .onErrorResume(this::isTypeMismatch, error -> findRaw(movement.getAccountNumber())
+                .flatMap(raw -> isLegacyBalance(raw)
+                      ? convertLegacyBalance(raw).then(modify(movement))
+                      : Mono.error(error)))
+          .switchIfEmpty(Mono.defer(() -> classifyRejection(movement)));
+  }
+
+  private Mono<MovementResult> modify(AccountMovement movement) {
+    String counter = counterOf(movement);
+    Criteria window = Criteria.where(counter).gte(movement.getMinMovements()).lt(movement.getMaxMovements());
+    if (movement.getMinMovements() <= 0 && movement.getMaxMovements() > 0) {
+      // Primer movimiento del mes: la clave del periodo aún no existe y cuenta como 0
+      window = new Criteria().orOperator(Criteria.where(counter).exists(false), window);
+    }
+
+    Criteria guard = Criteria.where(ACCOUNT_NUMBER).is(movement.getAccountNumber()).andOperator(window);
+    if (movement.getRequiredBalance() != null) {
+      guard = guard.and(BALANCE).gte(new Decimal128(Money.toDecimal(movement.getRequiredBalance())));
+    }
+
+    Update update = new Update()
+          .inc(BALANCE, new Decimal128(Money.toDecimal(movement.getBalanceDelta())))
+          .inc(counter, movement.getMovementCount());
+
+    if (movement.getTransactionId() != null) {
+      guard = guard.and(RECENT_TRANSACTIONS).ne(movement.getTransactionId());
+      update.push(RECENT_TRANSACTIONS)
+            .slice(-idempotencyProperties.getAccountRecentTransactions())
+            .each(movement.getTransactionId());
+    }
+
+    if (movement.getTransferId() != null) {
+      guard = guard.and(PENDING_TRANSFERS).ne(movement.getTransferId());
+      update = update.push(PENDING_TRANSFERS, movement.getTransferId());
+    }
+
+    if (movement.getLedgerEntry() != null) {
+      update = update.push(PENDING_LEDGER, PendingLedgerEntry.from(movement.getLedgerEntry()));
+    }
+
+    return mongoTemplate.findAndModify(new Query(guard), update,
+                FindAndModifyOptions.options().returnNew(true), AccountEntity.class)
+          .map(entity -> MovementResult.applied(accountMapper.toDomain(entity)));
+  }
+
+  // ==================== COMPENSACIÓN Y RETENCIONES (transferencias) ====================
+
+  /**
+   * Deshace un movimiento aplicado (saldo, contador, retención, registro de la transacción y, con ledgerEntry,
+   * su asiento pendiente) solo si la cuenta aún lo retiene (transferId) o, sin retención, lo registra (transactionId),
+   * de modo que repetirlo no devuelve el importe dos veces. Vacío si ya no estaba aplicado
+   */
+  public Mono<Account> revert(AccountMovement movement) {
+    if (movement.getTransferId() == null && movement.getTransactionId() == null) {
+      return Mono.error(new IllegalArgumentException("Solo se revierte un movimiento con transferId o transactionId"));
+    }
+
+    Criteria applied = Criteria.where(ACCOUNT_NUMBER).is(movement.getAccountNumber());
+    Update update = new Update()
+          .inc(BALANCE, new Decimal128(Money.toDecimal(-movement.getBalanceDelta())))
+          .inc(counterOf(movement), -movement.getMovementCount());
+    if (movement.getTransferId() != null) {
+      // La retención manda: recentTransactions es acotada y pudo descartar el id
+      applied = applied.and(PENDING_TRANSFERS).is(movement.getTransferId());
+      update = update.pull(PENDING_TRANSFERS, movement.getTransferId());
+    } else {
+      applied = applied.and(RECENT_TRANSACTIONS).is(movement.getTransactionId());
+    }
+    if (movement.getTransactionId() != null) {
+      update = update.pull(RECENT_TRANSACTIONS, movement.getTransactionId());
+    }
+    if (movement.getLedgerEntry() != null) {
+      // El asiento lleva el id de la solicitud, no el de la pata de la transferencia
+      update = update.pull(PENDING_LEDGER, new Document("transactionId", movement.getLedgerEntry().getTransactionId()));
+    }
+
+    return mongoTemplate.findAndModify(new Query(applied), update,
+                FindAndModifyOptions.options().returnNew(true), AccountEntity.class)
+          .map(accountMapper::toDomain);
+  }
+
+  /**
+   * Libera las retenciones indicadas (una por pata de la transferencia) en las cuentas indicadas
+   */
+  public Mono<Void> releaseHolds(Collection<String> accountNumbers, Collection<String> holdIds) {
+    Query held = new Query(Criteria.where(ACCOUNT_NUMBER).in(accountNumbers).and(PENDING_TRANSFERS).in(holdIds));
+    return mongoTemplate.updateMulti(held, new Update().pullAll(PENDING_TRANSFERS, holdIds.toArray()), AccountEntity.class)
+          .then();
+  }
+
+  public Mono<Boolean> isHeld(String accountNumber, String transferId) {
+    return mongoTemplate.exists(new Query(Criteria.where(ACCOUNT_NUMBER).is(accountNumber)
+          .and(PENDING_TRANSFERS).is(transferId)), AccountEntity.class);
+  }
+
+  // ==================== RECHAZOS ====================
+
+  /**
+   * La guarda no se cumplió: se lee el estado actual para tipar el rechazo.
+   * Solo ocurre en el camino de rechazo, el camino feliz es un único round trip.
+   * Un saldo String nunca cumple la guarda de saldo: se convierte y se repite el movimiento una vez.
+   */
+  private Mono<MovementResult> classifyRejection(AccountMovement movement) {
+    return findRaw(movement.getAccountNumber())
+          .flatMap(raw -> isLegacyBalance(raw)
+                ? convertLegacyBalance(raw)
+                      .then(modify(movement))
+                      .switchIfEmpty(Mono.defer(() -> findRaw(movement.getAccountNumber())
+                            .map(current -> classify(current, movement))))
+                : Mono.just(classify(raw, movement)))
+          .defaultIfEmpty(MovementResult.rejected(MovementRejection.ACCOUNT_NOT_FOUND, null));
+  }
+
+  private MovementResult classify(Document raw, AccountMovement movement) {
+    AccountEntity entity = mongoTemplate.getConverter().read(AccountEntity.class, raw);
+    return alreadyApplied(entity, movement)
+          ? MovementResult.applied(accountMapper.toDomain(entity))
+          : rejectionFor(accountMapper.toDomain(entity), movement);
+  }
+
+  private boolean alreadyApplied(AccountEntity entity, AccountMovement movement) {
+    return contains(entity.getPendingTransfers(), movement.getTransferId())
+          || contains(entity.getRecentTransactions(), movement.getTransactionId());
+  }
+
+  private boolean contains(List<String> ids, String id) {
+    return id != null && ids != null && ids.contains(id);
+  }
+
+  private MovementResult rejectionFor(Account account, AccountMovement movement) {
+    int movements = MovementPeriod.countFor(account.getMovements(), periodOf(movement));
+    if (movements < movement.getMinMovements() || movements >= movement.getMaxMovements()) {
+      return MovementResult.rejected(MovementRejection.MOVEMENT_WINDOW_CHANGED, account);
+    }
+    if (movement.getRequiredBalance() != null
+          && Money.fromDecimal(account.getBalance()) < movement.getRequiredBalance()) {
+      return MovementResult.rejected(MovementRejection.INSUFFICIENT_FUNDS, account);
+    }
+    // El documento cambió entre el findAndModify y la lectura: se reevalúa con el estado actual
+    return MovementResult.rejected(MovementRejection.MOVEMENT_WINDOW_CHANGED, account);
+  }
+
+  // ==================== SALDOS HEREDADOS ====================
+
+  /**
+   * Documento sin mapear: el tipo BSON del saldo decide si es un saldo heredado
+   */
+  private Mono<Document> findRaw(String accountNumber) {
+    return mongoTemplate.findOne(new Query(Criteria.where(ACCOUNT_NUMBER).is(accountNumber)), Document.class,
+          mongoTemplate.getCollectionName(AccountEntity.class));
+  }
+
+  private boolean isLegacyBalance(Document raw) {
+    return MongoConversionConfig.isLegacyAmount(raw.get(BALANCE));
+  }
+
+  /**
+   * Reescribe el saldo como Decimal128 solo si sigue teniendo el valor leído (el filtro va sin mapear
+   * para que el String no se convierta). Si otra escritura lo convirtió antes, no hace nada
+   */
+  private Mono<Void> convertLegacyBalance(Document raw) {
+    Object legacy = raw.get(BALANCE);
+    Query unchanged = new Query(Criteria.where("_id").is(raw.get("_id")).and(BALANCE).is(legacy));
+    return mongoTemplate.updateFirst(unchanged, Update.update(BALANCE, MongoConversionConfig.fromLegacyAmount(legacy)),
+                mongoTemplate.getCollectionName(AccountEntity.class))
+          .doOnNext(result -> log.info("🛠️ Saldo heredado convertido a Decimal128: cuenta={}, modificado={}",
+                raw.get(ACCOUNT_NUMBER), result.getModifiedCount() > 0))
+          .then();
+  }
+
+  private boolean isTypeMismatch(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof MongoException && ((MongoException) cause).getCode() == TYPE_MISMATCH) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private String counterOf(AccountMovement movement) {
+    return MOVEMENTS_FIELD + "." + periodOf(movement);
+  }
+
+  private String periodOf(AccountMovement movement) {
+    return movement.getPeriod() != null ? movement.getPeriod() : MovementPeriod.current();
+  }
+}
@@ -0,0 +1,223 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.application.port.out.AccountRepositoryOutputPort;
+import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountMovement;
+import com.ettdata.account_service.domain.model.AccountTransfer;
+import com.ettdata.account_service.domain.model.MovementResult;
+import com.ettdata.account_service.domain.model.TransferResult;
+import com.ettdata.account_service.infrastructure.config.AccountCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caché de cuentas por número de cuenta (read-through / write-through).
+ * Cada entrada lleva una versión: una lectura de Mongo solo se publica en la caché si ninguna
+ * escritura posterior a su inicio la reemplazó, de modo que una lectura lenta no pisa un valor más nuevo.
+ * Un índice id → número de cuenta, mantenido junto con cada entrada, permite invalidar por id sin recorrer la caché.
+ * Las cuentas devueltas se comparten entre llamadas y deben tratarse como de solo lectura.
+ */
+@Slf4j
+public class CachingAccountRepositoryAdapter implements AccountRepositoryOutputPort {
+
+  private final AccountRepositoryOutputPort delegate;
+  private final Cache<String, CachedAccount> cache;
+  private final AtomicLong versions = new AtomicLong();
+  private final Map<String, String> accountNumbersById = new ConcurrentHashMap<>();
+
+  public CachingAccountRepositoryAdapter(AccountRepositoryOutputPort delegate, AccountCacheProperties properties) {
+    this.delegate = delegate;
+    this.cache = Caffeine.newBuilder()
+          .maximumSize(properties.getMaxSize())
+          .expireAfterWrite(properties.getExpireAfterWrite())
+          .recordStats()
+          // Síncrono y atómico con la entrada expulsada (a diferencia de removalListener)
+          .evictionListener((String accountNumber, CachedAccount evicted, RemovalCause cause) ->
+                unindex(accountNumber, evicted))
+          .build();
+  }
+
+  @Override
+  public Flux<Account> findAllAccount() {
+    return delegate.findAllAccount();
+  }
+
+  @Override
+  public Flux<Account> findAccountsAfter(String afterId, int limit) {
+    return delegate.findAccountsAfter(afterId, limit);
+  }
+
+  @Override
+  public Mono<Account> saveOrUpdateAccount(Account account) {
+    return delegate.saveOrUpdateAccount(account)
+          .doOnNext(this::writeThrough);
+  }
+
+  @Override
+  public Mono<Account> findByIdAccount(String id) {
+    // El adaptador resuelve este método por número de cuenta
+    return readThrough(id, () -> delegate.findByIdAccount(id));
+  }
+
+  @Override
+  public Flux<Account> findByCustomerId(String customerId) {
+    return delegate.findByCustomerId(customerId);
+  }
+
+  @Override
+  public Mono<Void> deleteByIdAccount(String id) {
+    return delegate.deleteByIdAccount(id)
+          .doOnSuccess(done -> invalidateById(id));
+  }
+
+  @Override
+  public Mono<Account> findByNumberAccount(String numberAccount) {
+    return readThrough(numberAccount, () -> delegate.findByNumberAccount(numberAccount));
+  }
+
+  /**
+   * Las cuentas en caché se devuelven directamente; las demás se leen con una sola consulta
+   */
+  @Override
+  public Flux<Account> findByNumberAccounts(Collection<String> numberAccounts) {
+    List<Account> cached = new ArrayList<>(numberAccounts.size());
+    List<String> missing = new ArrayList<>(numberAccounts.size());
+    for (String accountNumber : numberAccounts) {
+      CachedAccount entry = cache.getIfPresent(accountNumber);
+      if (entry != null && entry.account != null) {
+        cached.add(entry.account);
+      } else {
+        missing.add(accountNumber);
+      }
+    }
+
+    if (missing.isEmpty()) {
+      return Flux.fromIterable(cached);
+    }
+
+    long readVersion = versions.incrementAndGet();
+    return Flux.fromIterable(cached)
+          .concatWith(delegate.findByNumberAccounts(missing)
+                .doOnNext(account -> publish(account.getAccountNumber(), account, readVersion)));
+  }
+
+  @Override
+  public Mono<MovementResult> applyMovement(AccountMovement movement) {
+    return delegate.applyMovement(movement)
+          .doOnNext(result -> {
+            if (result.getAccount() != null) {
+              writeThrough(result.getAccount());
+            } else {
+              invalidate(movement.getAccountNumber());
+            }
+          });
+  }
+
+  @Override
+  public Mono<TransferResult> applyTransfer(AccountTransfer transfer) {
+    return delegate.applyTransfer(transfer)
+          .doOnNext(result -> {
+            refresh(transfer.getDebit().getAccountNumber(), result.getSource());
+            refresh(transfer.getCredit().getAccountNumber(), result.getTarget());
+          });
+  }
+
+  public Cache<String, CachedAccount> getCache() {
+    return cache;
+  }
+
+  // ==================== VERSIONADO ====================
+
+  private Mono<Account> readThrough(String accountNumber, Supplier<Mono<Account>> loader) {
+    CachedAccount cached = cache.getIfPresent(accountNumber);
+    if (cached != null && cached.account != null) {
+      return Mono.just(cached.account);
+    }
+
+    // Sello propio: supera a la marca de una invalidación anterior y queda por debajo de cualquier escritura posterior
+    long readVersion = versions.incrementAndGet();
+    return loader.get()
+          .doOnNext(account -> publish(accountNumber, account, readVersion));
+  }
+
+  private void publish(String accountNumber, Account account, long readVersion) {
+    cache.asMap().compute(accountNumber, (key, current) ->
+          current == null || current.version < readVersion
+                ? replace(key, current, new CachedAccount(account, readVersion))
+                : current);
+  }
+
+  private void writeThrough(Account account) {
+    cache.asMap().compute(account.getAccountNumber(), (key, current) ->
+          replace(key, current, new CachedAccount(account, versions.incrementAndGet())));
+  }
+
+  /**
+   * Publica el estado devuelto por una escritura o, si no se conoce, invalida la entrada
+   */
+  private void refresh(String accountNumber, Account account) {
+    if (account != null) {
+      writeThrough(account);
+    } else {
+      invalidate(accountNumber);
+    }
+  }
+
+  /**
+   * Deja una marca (sin cuenta) con versión nueva para que ninguna lectura en curso repueble la entrada
+   */
+  private void invalidate(String accountNumber) {
+    cache.asMap().compute(accountNumber, (key, current) ->
+          replace(key, current, new CachedAccount(null, versions.incrementAndGet())));
+  }
+
+  private void invalidateById(String id) {
+    String accountNumber = accountNumbersById.get(id);
+    if (accountNumber != null) {
+      invalidate(accountNumber);
+    }
+  }
+
+  // ==================== ÍNDICE POR ID ====================
+
+  /**
+   * Se invoca dentro del compute de la entrada: entrada e índice cambian juntos
+   */
+  private CachedAccount replace(String accountNumber, CachedAccount current, CachedAccount next) {
+    if (current != null) {
+      unindex(accountNumber, current);
+    }
+    if (next.account != null && next.account.getId() != null) {
+      accountNumbersById.put(next.account.getId(), accountNumber);
+    }
+    return next;
+  }
+
+  private void unindex(String accountNumber, CachedAccount entry) {
+    if (entry != null && entry.account != null && entry.account.getId() != null) {
+      accountNumbersById.remove(entry.account.getId(), accountNumber);
+    }
+  }
+
+  public static final class CachedAccount {
+    private final Account account;
+    private final long version;
+
+    CachedAccount(Account account, long version) {
+      this.account = account;
+      this.version = version;
+    }
+  }
+}
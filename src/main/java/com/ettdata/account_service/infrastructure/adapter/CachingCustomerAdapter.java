@@ -0,0 +1,90 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.application.port.out.CustomerOutputPort;
+import com.ettdata.account_service.domain.model.CustomerResponse;
+import com.ettdata.account_service.infrastructure.config.CustomerCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Caché asíncrona delante del servicio de clientes.
+ * - Acotada por tamaño, con TTL para clientes encontrados y TTL corto para documentos inexistentes
+ * - Las consultas concurrentes de un mismo documento comparten una única llamada en curso
+ * - Los errores no se cachean y se propagan: la siguiente consulta vuelve a llamar al servicio
+ */
+@Slf4j
+public class CachingCustomerAdapter implements CustomerOutputPort {
+
+  private final CustomerOutputPort delegate;
+  private final AsyncCache<String, Optional<CustomerResponse>> cache;
+
+  public CachingCustomerAdapter(CustomerOutputPort delegate, CustomerCacheProperties properties) {
+    this.delegate = delegate;
+    this.cache = Caffeine.newBuilder()
+          .maximumSize(properties.getMaxSize())
+          .expireAfter(new CustomerExpiry(properties.getTtl(), properties.getNegativeTtl()))
+          .recordStats()
+          .buildAsync();
+  }
+
+  @Override
+  public Mono<CustomerResponse> getCustomerByDocument(String customerDocument) {
+    CompletableFuture<Optional<CustomerResponse>> lookup = cache.get(customerDocument, (document, executor) ->
+          delegate.getCustomerByDocument(document)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .toFuture());
+
+    // copy(): cancelar a un suscriptor no debe cancelar la llamada compartida
+    return Mono.fromFuture(lookup.copy())
+          .flatMap(Mono::justOrEmpty)
+          .doOnError(ex -> log.error("Excepción al consumir servicio de clientes: {}", ex.getMessage()));
+  }
+
+  /**
+   * Estadísticas de aciertos, fallos y desalojos
+   */
+  public CacheStats stats() {
+    return cache.synchronous().stats();
+  }
+
+  public AsyncCache<String, Optional<CustomerResponse>> getCache() {
+    return cache;
+  }
+
+  /**
+   * TTL distinto para clientes encontrados y para resultados negativos
+   */
+  private static final class CustomerExpiry implements Expiry<String, Optional<CustomerResponse>> {
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    CustomerExpiry(Duration ttl, Duration negativeTtl) {
+      this.ttlNanos = ttl.toNanos();
+      this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(String key, Optional<CustomerResponse> value, long currentTime) {
+      return value.isPresent() ? ttlNanos : negativeTtlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Optional<CustomerResponse> value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Optional<CustomerResponse> value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
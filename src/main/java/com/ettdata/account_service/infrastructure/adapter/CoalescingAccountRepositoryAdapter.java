@@ -0,0 +1,227 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.application.port.out.AccountRepositoryOutputPort;
+import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountMovement;
+import com.ettdata.account_service.domain.model.AccountTransfer;
+import com.ettdata.account_service.domain.model.MovementResult;
+import com.ettdata.account_service.domain.model.TransferResult;
+import com.ettdata.account_service.infrastructure.config.WriteCoalescingProperties;
+import com.ettdata.account_service.infrastructure.entity.AccountEntity;
+import com.ettdata.account_service.infrastructure.utils.AccountMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrupa las llamadas concurrentes a saveOrUpdateAccount: se acumulan hasta max-batch-size
+ * o durante window y se envían en un único bulkWrite desordenado (replaceOne con upsert por _id).
+ * Un bulkWrite desordenado no garantiza el orden entre operaciones, así que las escrituras de una misma
+ * cuenta dentro del lote se reducen a la última y todas esas llamadas reciben su resultado.
+ * Cada cuenta del lote recibe su propio resultado o su propio error de escritura.
+ * El resto de operaciones se delega sin cambios: applyMovement y applyTransfer son findAndModify guardados
+ * cuyo resultado (cuenta nueva o rechazo) no puede obtenerse por operación desde un bulkWrite.
+ */
+@Slf4j
+public class CoalescingAccountRepositoryAdapter implements AccountRepositoryOutputPort {
+
+  private static final String BATCH_SIZE_SUMMARY = "account.repository.write.batch.size";
+
+  private final AccountRepositoryOutputPort delegate;
+  private final AccountMapper accountMapper;
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final DistributionSummary batchSizes;
+  private final Disposable writer;
+
+  private FluxSink<PendingWrite> pendingWrites;
+
+  public CoalescingAccountRepositoryAdapter(AccountRepositoryOutputPort delegate,
+                                            AccountMapper accountMapper,
+                                            ReactiveMongoTemplate mongoTemplate,
+                                            WriteCoalescingProperties properties,
+                                            MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.accountMapper = accountMapper;
+    this.mongoTemplate = mongoTemplate;
+    this.batchSizes = meterRegistry.summary(BATCH_SIZE_SUMMARY);
+
+    // FluxSink serializa las emisiones concurrentes de los llamadores
+    this.writer = Flux.<PendingWrite>create(sink -> this.pendingWrites = sink, FluxSink.OverflowStrategy.BUFFER)
+          .bufferTimeout(properties.getMaxBatchSize(), properties.getWindow())
+          .flatMap(this::flush, properties.getMaxInFlightBatches())
+          .subscribe();
+  }
+
+  @Override
+  public Mono<Account> saveOrUpdateAccount(Account account) {
+    return Mono.defer(() -> {
+      AccountEntity entity = accountMapper.toEntity(account);
+      if (entity.getId() == null) {
+        // El id se asigna antes del lote para que todas las escrituras sean replaceOne por _id
+        entity.setId(new ObjectId().toHexString());
+      }
+      PendingWrite write = new PendingWrite(entity);
+      pendingWrites.next(write);
+      return write.result.asMono();
+    });
+  }
+
+  /**
+   * Libera las escrituras pendientes al detener el contexto
+   */
+  public void close() {
+    pendingWrites.complete();
+    writer.dispose();
+  }
+
+  // ==================== LOTES ====================
+
+  private Mono<Void> flush(List<PendingWrite> batch) {
+    batchSizes.record(batch.size());
+
+    // Un grupo por _id en orden de llegada; gana la última escritura de cada grupo
+    Map<String, List<PendingWrite>> writesById = new LinkedHashMap<>();
+    batch.forEach(write -> writesById.computeIfAbsent(write.entity.getId(), id -> new ArrayList<>()).add(write));
+    List<List<PendingWrite>> groups = new ArrayList<>(writesById.values());
+
+    // Un error de conversión falla solo este lote: una excepción fuera del Mono detendría el escritor
+    return Mono.fromCallable(() -> toModels(groups))
+          .flatMap(models -> mongoTemplate.getCollection(mongoTemplate.getCollectionName(AccountEntity.class))
+                .flatMap(collection -> Mono.from(collection.bulkWrite(models, new BulkWriteOptions().ordered(false)))))
+          .doOnNext(result -> groups.forEach(this::complete))
+          .onErrorResume(error -> {
+            completeWithErrors(groups, error);
+            return Mono.empty();
+          })
+          .then();
+  }
+
+  private List<WriteModel<Document>> toModels(List<List<PendingWrite>> groups) {
+    List<WriteModel<Document>> models = new ArrayList<>(groups.size());
+    for (List<PendingWrite> group : groups) {
+      Document document = new Document();
+      mongoTemplate.getConverter().write(last(group).entity, document);
+      models.add(new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")), document,
+            new ReplaceOptions().upsert(true)));
+    }
+    return models;
+  }
+
+  private void complete(List<PendingWrite> group) {
+    Account saved = accountMapper.toDomain(last(group).entity);
+    group.forEach(write -> write.result.tryEmitValue(saved));
+  }
+
+  private static PendingWrite last(List<PendingWrite> group) {
+    return group.get(group.size() - 1);
+  }
+
+  /**
+   * En un bulkWrite desordenado solo fallan las operaciones con error propio;
+   * un error sin detalle por operación (red, write concern) falla todo el lote.
+   * El índice de cada error es el de la operación, es decir, el del grupo de su _id
+   */
+  private void completeWithErrors(List<List<PendingWrite>> groups, Throwable error) {
+    if (!(error instanceof MongoBulkWriteException)
+          || ((MongoBulkWriteException) error).getWriteConcernError() != null) {
+      log.error("❌ Error en bulkWrite de cuentas ({} cuentas): {}", groups.size(), error.getMessage());
+      groups.forEach(group -> group.forEach(write -> write.result.tryEmitError(error)));
+      return;
+    }
+
+    Map<Integer, BulkWriteError> failures = new HashMap<>();
+    ((MongoBulkWriteException) error).getWriteErrors().forEach(failure -> failures.put(failure.getIndex(), failure));
+
+    for (int i = 0; i < groups.size(); i++) {
+      BulkWriteError failure = failures.get(i);
+      if (failure == null) {
+        complete(groups.get(i));
+      } else {
+        log.warn("⚠️ Escritura de cuenta rechazada en bulkWrite: {}", failure.getMessage());
+        RuntimeException rejection = failure.getCode() == 11000
+              ? new DuplicateKeyException(failure.getMessage())
+              : new IllegalStateException(failure.getMessage());
+        groups.get(i).forEach(write -> write.result.tryEmitError(rejection));
+      }
+    }
+  }
+
+  private static final class PendingWrite {
+    private final AccountEntity entity;
+    private final Sinks.One<Account> result = Sinks.one();
+
+    PendingWrite(AccountEntity entity) {
+      this.entity = entity;
+    }
+  }
+
+  // ==================== DELEGACIÓN ====================
+
+  @Override
+  public Flux<Account> findAllAccount() {
+    return delegate.findAllAccount();
+  }
+
+  @Override
+  public Flux<Account> findAccountsAfter(String afterId, int limit) {
+    return delegate.findAccountsAfter(afterId, limit);
+  }
+
+  @Override
+  public Mono<Account> findByIdAccount(String id) {
+    return delegate.findByIdAccount(id);
+  }
+
+  @Override
+  public Flux<Account> findByCustomerId(String customerId) {
+    return delegate.findByCustomerId(customerId);
+  }
+
+  @Override
+  public Mono<Void> deleteByIdAccount(String id) {
+    return delegate.deleteByIdAccount(id);
+  }
+
+  @Override
+  public Mono<Account> findByNumberAccount(String numberAccount) {
+    return delegate.findByNumberAccount(numberAccount);
+  }
+
+  @Override
+  public Flux<Account> findByNumberAccounts(Collection<String> numberAccounts) {
+    return delegate.findByNumberAccounts(numberAccounts);
+  }
+
+  @Override
+  public Mono<MovementResult> applyMovement(AccountMovement movement) {
+    return delegate.applyMovement(movement);
+  }
+
+  @Override
+  public Mono<TransferResult> applyTransfer(AccountTransfer transfer) {
+    return delegate.applyTransfer(transfer);
+  }
+}
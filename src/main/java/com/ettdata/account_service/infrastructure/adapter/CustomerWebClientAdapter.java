@@ -1,35 +1,50 @@
 package com.ettdata.account_service.infrastructure.adapter;
 
 import com.ettdata.account_service.application.port.out.CustomerOutputPort;
+import com.ettdata.account_service.domain.error.CustomerServiceUnavailableException;
 import com.ettdata.account_service.domain.model.CustomerApiResponse;
 import com.ettdata.account_service.domain.model.CustomerResponse;
+import com.ettdata.account_service.infrastructure.utils.AdaptiveLatencyPolicy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Adaptador para consumir el microservicio de clientes mediante WebClient reactivo.
- * Implementa circuit breaker y manejo de errores según los requisitos del proyecto.
+ * Los fallos del servicio (5xx, timeout, conexión, error en el cuerpo) se propagan como CustomerServiceUnavailableException;
+ * el circuit breaker y el bulkhead están en ResilientCustomerAdapter.
+ * El timeout de cada consulta lo fija AdaptiveLatencyPolicy a partir de las latencias recientes.
  */
 @Component
 @Slf4j
 public class CustomerWebClientAdapter implements CustomerOutputPort {
 
   private final WebClient webClient;
+  private final AdaptiveLatencyPolicy latencyPolicy;
 
   /**
    * Constructor con URL configurable desde properties.
    *
    * @param customerServiceUrl URL base del servicio de clientes
+   * @param customerHttpClient cliente Reactor Netty con el pool de conexiones propio (CustomerClientConfig)
+   * @param customerLatencyPolicy timeout adaptativo (CustomerClientConfig)
    */
-  public CustomerWebClientAdapter(@Value("${customer.service.url:http://localhost:8080}") String customerServiceUrl) {
+  public CustomerWebClientAdapter(@Value("${customer.service.url:http://localhost:8080}") String customerServiceUrl,
+                                  HttpClient customerHttpClient,
+                                  AdaptiveLatencyPolicy customerLatencyPolicy) {
     this.webClient = WebClient.builder()
           .baseUrl(customerServiceUrl)
+          .clientConnector(new ReactorClientHttpConnector(customerHttpClient))
           .build();
+    this.latencyPolicy = customerLatencyPolicy;
   }
 
   /**
@@ -37,12 +52,46 @@ public class CustomerWebClientAdapter implements CustomerOutputPort {
    * La API devuelve una estructura: { "data": [cliente], "error": null }
    *
    * @param documentNumber Número de documento del cliente
-   * @return Mono con los datos del cliente o Mono.empty() si no existe
+   * @return Mono con los datos del cliente, Mono.empty() si no existe,
+   *         IllegalArgumentException ante un 4xx o CustomerServiceUnavailableException si el servicio falla
    */
   @Override
   public Mono<CustomerResponse> getCustomerByDocument(String documentNumber) {
-    log.info("Consultando cliente con documento: {}", documentNumber);
+    return Mono.defer(() -> {
+      log.info("Consultando cliente con documento: {}", documentNumber);
+      Duration timeout = latencyPolicy.timeout();
+      long start = System.nanoTime();
+      return query(documentNumber)
+            .timeout(timeout)
+            .doOnSuccess(apiResponse -> latencyPolicy.record(System.nanoTime() - start))
+            .doOnError(TimeoutException.class, error -> latencyPolicy.recordTimeout(timeout));
+    })
+          .onErrorMap(error -> error instanceof TimeoutException || error instanceof WebClientRequestException,
+                error -> new CustomerServiceUnavailableException("Servicio de clientes no disponible", error))
+          .flatMap(apiResponse -> {
+            if (apiResponse.hasError()) {
+              // Un error informado en el cuerpo no significa que el cliente no exista
+              log.error("La API de clientes devolvió error: {}", apiResponse.getError());
+              return Mono.error(new CustomerServiceUnavailableException(
+                    "Servicio de clientes devolvió error: " + apiResponse.getError()));
+            }
+
+            if (!apiResponse.hasData()) {
+              log.warn("No se encontraron datos para el documento: {}", documentNumber);
+              return Mono.empty();
+            }
+
+            CustomerResponse customer = apiResponse.getFirstCustomer();
+            log.info("Cliente obtenido exitosamente - ID: {}, Tipo: {}",
+                  customer.getId(), customer.getCustomerType());
+            return Mono.just(customer);
+          })
+          .doOnError(error ->
+                log.error("Error al consultar cliente con documento {}: {}",
+                      documentNumber, error.getMessage()));
+  }
 
+  private Mono<CustomerApiResponse> query(String documentNumber) {
     return webClient.get()
           .uri("/api/customers/document/{documentNumber}", documentNumber)
           .retrieve()
@@ -56,38 +105,14 @@ public class CustomerWebClientAdapter implements CustomerOutputPort {
                 HttpStatus::is4xxClientError,
                 response -> {
                   log.error("Error del cliente (4xx) al consultar documento: {}", documentNumber);
-                  return Mono.error(new RuntimeException("Error en la solicitud al servicio de clientes"));
+                  return Mono.error(new IllegalArgumentException("Error en la solicitud al servicio de clientes"));
                 })
           .onStatus(
                 HttpStatus::is5xxServerError,
                 response -> {
                   log.error("Error del servidor en el servicio de clientes");
-                  return Mono.error(new RuntimeException("Servicio de clientes no disponible"));
+                  return Mono.error(new CustomerServiceUnavailableException("Servicio de clientes no disponible"));
                 })
-          .bodyToMono(CustomerApiResponse.class)
-          .timeout(Duration.ofSeconds(2))
-          .flatMap(apiResponse -> {
-            if (apiResponse.hasError()) {
-              log.error("La API de clientes devolvió error: {}", apiResponse.getError());
-              return Mono.empty();
-            }
-
-            if (!apiResponse.hasData()) {
-              log.warn("No se encontraron datos para el documento: {}", documentNumber);
-              return Mono.empty();
-            }
-
-            CustomerResponse customer = apiResponse.getFirstCustomer();
-            log.info("Cliente obtenido exitosamente - ID: {}, Tipo: {}",
-                  customer.getId(), customer.getCustomerType());
-            return Mono.just(customer);
-          })
-          .doOnError(error ->
-                log.error("Error al consultar cliente con documento {}: {}",
-                      documentNumber, error.getMessage()))
-          .onErrorResume(ex -> {
-            log.error("Excepción al consumir servicio de clientes: {}", ex.getMessage());
-            return Mono.empty();
-          });
+          .bodyToMono(CustomerApiResponse.class);
   }
-}
\ No newline at end of file
+}
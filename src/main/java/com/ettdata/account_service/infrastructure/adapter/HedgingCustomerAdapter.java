@@ -0,0 +1,115 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.application.port.out.CustomerOutputPort;
+import com.ettdata.account_service.domain.error.CustomerServiceUnavailableException;
+import com.ettdata.account_service.domain.model.CustomerResponse;
+import com.ettdata.account_service.infrastructure.config.CustomerAdaptiveProperties;
+import com.ettdata.account_service.infrastructure.utils.AdaptiveLatencyPolicy;
+import com.ettdata.account_service.infrastructure.utils.RetryBudget;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Solicitudes adelantadas (hedging) y reintentos acotados delante del circuit breaker.
+ * - Hedging (opcional): si la consulta supera el p95 reciente se lanza una segunda;
+ *   gana la primera en responder y la otra se cancela. Un fallo de la adelantada no
+ *   cancela la original.
+ * - Reintentos con backoff solo ante fallos del servicio; nunca con el circuito abierto
+ *   ni con el bulkhead lleno.
+ * Solicitudes adelantadas y reintentos gastan fichas de un RetryBudget común: sin fichas no se
+ * envían, así que durante una caída el tráfico hacia el servicio no se multiplica.
+ */
+@Slf4j
+public class HedgingCustomerAdapter implements CustomerOutputPort {
+
+  private final CustomerOutputPort delegate;
+  private final AdaptiveLatencyPolicy latencyPolicy;
+  private final RetryBudget retryBudget;
+  private final CustomerAdaptiveProperties properties;
+  private final Counter hedges;
+  private final Counter retries;
+  private final Counter budgetExhausted;
+
+  public HedgingCustomerAdapter(CustomerOutputPort delegate, AdaptiveLatencyPolicy latencyPolicy,
+                                CustomerAdaptiveProperties properties, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.latencyPolicy = latencyPolicy;
+    this.properties = properties;
+    this.retryBudget = new RetryBudget(properties.getRetryBudgetRatio(), properties.getRetryBudgetPerSecond(),
+          properties.getRetryBudgetMaxTokens());
+    this.hedges = meterRegistry.counter("customer.client.hedges");
+    this.retries = meterRegistry.counter("customer.client.retries");
+    this.budgetExhausted = meterRegistry.counter("customer.client.retry.budget.exhausted");
+    Gauge.builder("customer.client.retry.budget.tokens", retryBudget, RetryBudget::available)
+          .register(meterRegistry);
+  }
+
+  @Override
+  public Mono<CustomerResponse> getCustomerByDocument(String customerDocument) {
+    return hedged(customerDocument)
+          .retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getRetryBackoff())
+                .filter(error -> isRetryable(error) && withdraw())
+                .doBeforeRetry(signal -> {
+                  retries.increment();
+                  log.warn("🔁 Reintentando consulta de cliente {}: {}", customerDocument, signal.failure().getMessage());
+                })
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+          .doOnSuccess(found -> retryBudget.deposit())
+          .flatMap(Mono::justOrEmpty);
+  }
+
+  /**
+   * El resultado se envuelve en Optional para que "cliente inexistente" también sea una señal
+   * de valor y gane la carrera frente a la solicitud adelantada
+   */
+  private Mono<Optional<CustomerResponse>> hedged(String customerDocument) {
+    return Mono.defer(() -> {
+      Optional<Duration> hedgeDelay = properties.isHedgeEnabled() ? latencyPolicy.hedgeDelay() : Optional.empty();
+      if (hedgeDelay.isEmpty()) {
+        return attempt(customerDocument);
+      }
+
+      Mono<Optional<CustomerResponse>> hedge = Mono.delay(hedgeDelay.get())
+            .flatMap(tick -> {
+              if (!withdraw()) {
+                return Mono.never();
+              }
+              hedges.increment();
+              log.debug("⏩ Consulta de cliente {} lenta (> {} ms), enviando solicitud adelantada",
+                    customerDocument, hedgeDelay.get().toMillis());
+              return attempt(customerDocument).onErrorResume(error -> Mono.never());
+            });
+
+      return Mono.firstWithSignal(attempt(customerDocument), hedge);
+    });
+  }
+
+  private Mono<Optional<CustomerResponse>> attempt(String customerDocument) {
+    return delegate.getCustomerByDocument(customerDocument)
+          .map(Optional::of)
+          .defaultIfEmpty(Optional.empty());
+  }
+
+  private boolean isRetryable(Throwable error) {
+    return error instanceof CustomerServiceUnavailableException
+          && !(error.getCause() instanceof CallNotPermittedException)
+          && !(error.getCause() instanceof BulkheadFullException);
+  }
+
+  private boolean withdraw() {
+    if (retryBudget.tryWithdraw()) {
+      return true;
+    }
+    budgetExhausted.increment();
+    return false;
+  }
+}
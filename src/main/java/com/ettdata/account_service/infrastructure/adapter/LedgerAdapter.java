@@ -0,0 +1,453 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.application.port.out.MovementLedgerOutputPort;
+import com.ettdata.account_service.domain.model.AccountTransfer;
+import com.ettdata.account_service.domain.model.LedgerEntry;
+import com.ettdata.account_service.domain.model.LedgerEntryType;
+import com.ettdata.account_service.infrastructure.entity.AccountEntity;
+import com.ettdata.account_service.infrastructure.entity.BalanceSnapshotEntity;
+import com.ettdata.account_service.infrastructure.entity.LedgerEntryEntity;
+import com.ettdata.account_service.infrastructure.entity.PendingLedgerEntry;
+import com.ettdata.account_service.infrastructure.repository.BalanceSnapshotRepository;
+import com.ettdata.account_service.infrastructure.repository.LedgerEntryRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Libro de movimientos append-only (colección movements) con instantáneas de saldo
+ * (colección balance_snapshots). Los asientos solo se insertan: no hay contención de
+ * actualización sobre un mismo documento, y el saldo se reconstruye como
+ * instantánea + suma de los asientos posteriores a ella.
+ * Cada movimiento guarda su asiento en la cuenta (pendingLedger) en la misma actualización que el saldo;
+ * append lo quita de la cuenta tras insertarlo y recoverPending inserta los que quedaron pendientes.
+ */
+@Component
+@Slf4j
+public class LedgerAdapter implements MovementLedgerOutputPort {
+
+  private static final String ACCOUNT_NUMBER = "accountNumber";
+  private static final String ID = "_id";
+  private static final String TRANSACTION_ID = "transactionId";
+  private static final String BALANCE = "balance";
+  private static final String RECENT_TRANSACTIONS = "recentTransactions";
+  private static final String PENDING_LEDGER = "pendingLedger";
+  private static final String LAST_ENTRY_ID = "lastEntryId";
+  private static final String TAKEN_AT = "takenAt";
+
+  // Documentos de control en balance_snapshots (sin accountNumber)
+  private static final String SNAPSHOT_WATERMARK_ID = "snapshot-watermark";   // Límite superior del último ciclo
+  private static final String OPENING_BACKFILL_ID = "opening-backfill";        // Pasada de aperturas completada
+
+  private final LedgerEntryRepository entryRepository;
+  private final BalanceSnapshotRepository snapshotRepository;
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  public LedgerAdapter(LedgerEntryRepository entryRepository,
+                       BalanceSnapshotRepository snapshotRepository,
+                       ReactiveMongoTemplate mongoTemplate) {
+    this.entryRepository = entryRepository;
+    this.snapshotRepository = snapshotRepository;
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  // ==================== ASIENTOS ====================
+
+  /**
+   * Un único insertMany desordenado: los asientos duplicados (reentregas) fallan por el índice
+   * único sin impedir que se inserten los demás
+   */
+  @Override
+  public Mono<Void> append(List<LedgerEntry> entries) {
+    if (entries.isEmpty()) {
+      return Mono.empty();
+    }
+
+    List<Document> documents = entries.stream()
+          .map(this::toEntity)
+          .map(this::toDocument)
+          .collect(Collectors.toList());
+
+    return mongoTemplate.getCollection(mongoTemplate.getCollectionName(LedgerEntryEntity.class))
+          .flatMap(collection -> Mono.from(collection.insertMany(documents, new InsertManyOptions().ordered(false))))
+          .onErrorResume(this::isOnlyDuplicates, error -> {
+            log.debug("♻️ Asientos ya registrados, se ignoran: {}", entries.size());
+            return Mono.empty();
+          })
+          .then(confirm(entries));
+  }
+
+  /**
+   * Quita de cada cuenta (pendingLedger) los asientos ya insertados en movements.
+   * El filtro exige alguno pendiente: sin ellos (apertura de una cuenta nueva) no se escribe nada
+   */
+  private Mono<Void> confirm(List<LedgerEntry> entries) {
+    Map<String, List<String>> transactionsByAccount = entries.stream()
+          .collect(Collectors.groupingBy(LedgerEntry::getAccountNumber,
+                Collectors.mapping(LedgerEntry::getTransactionId, Collectors.toList())));
+    String accounts = mongoTemplate.getCollectionName(AccountEntity.class);
+
+    return Flux.fromIterable(transactionsByAccount.entrySet())
+          .flatMap(account -> mongoTemplate.updateFirst(
+                new Query(Criteria.where(ACCOUNT_NUMBER).is(account.getKey())
+                      .and(PENDING_LEDGER + "." + TRANSACTION_ID).in(account.getValue())),
+                new Update().pull(PENDING_LEDGER, new Document(TRANSACTION_ID, new Document("$in", account.getValue()))),
+                accounts))
+          .then();
+  }
+
+  /**
+   * Inserta los asientos pendientes en las cuentas (pendingLedger) más antiguos que olderThan: la
+   * inserción tras el movimiento falló o el servicio cayó antes de hacerla. Los de una transferencia aún
+   * retenida (pendingTransfers) esperan a que el diario la resuelva, porque todavía puede revertirse.
+   * Revisa hasta limit cuentas; devuelve el número de asientos insertados
+   */
+  public Mono<Long> recoverPending(Instant olderThan, int limit) {
+    Query stale = new Query(Criteria.where(PENDING_LEDGER + ".timestamp").lt(olderThan)).limit(limit);
+    return mongoTemplate.find(stale, AccountEntity.class)
+          .concatMap(account -> {
+            List<LedgerEntry> settled = settledEntries(account, olderThan);
+            return append(settled)
+                  .thenReturn((long) settled.size())
+                  .onErrorResume(error -> {
+                    log.error("❌ No se pudieron insertar los asientos pendientes de la cuenta {}: {}",
+                          account.getAccountNumber(), error.getMessage());
+                    return Mono.empty();
+                  });
+          })
+          .reduce(0L, Long::sum);
+  }
+
+  private List<LedgerEntry> settledEntries(AccountEntity account, Instant olderThan) {
+    List<String> held = account.getPendingTransfers() == null ? List.of() : account.getPendingTransfers();
+    return account.getPendingLedger().stream()
+          .filter(entry -> entry.getTimestamp().isBefore(olderThan))
+          .filter(entry -> !held.contains(AccountTransfer.debitTransactionId(entry.getTransactionId()))
+                && !held.contains(AccountTransfer.creditTransactionId(entry.getTransactionId())))
+          .map(entry -> entry.toLedgerEntry(account.getAccountNumber()))
+          .collect(Collectors.toList());
+  }
+
+  @Override
+  public Flux<LedgerEntry> findHistory(String accountNumber, String before, int limit) {
+    PageRequest page = PageRequest.of(0, limit);
+    Flux<LedgerEntryEntity> entities = before == null
+          ? entryRepository.findByAccountNumberOrderByIdDesc(accountNumber, page)
+          : entryRepository.findByAccountNumberAndIdLessThanOrderByIdDesc(accountNumber, before, page);
+    return entities.map(this::toDomain);
+  }
+
+  // ==================== SALDO ====================
+
+  @Override
+  public Mono<BigDecimal> computeBalance(String accountNumber) {
+    return latestSnapshot(accountNumber)
+          .flatMap(previous -> {
+            BigDecimal base = previous.map(BalanceSnapshotEntity::getBalance).orElse(BigDecimal.ZERO);
+            return sumTail(accountNumber, previous.map(BalanceSnapshotEntity::getLastEntryId).orElse(null), null)
+                  .map(tail -> base.add(tail.getTotal()))
+                  .defaultIfEmpty(base);
+          });
+  }
+
+  /**
+   * Suma y último _id de los asientos de la cuenta en (after, before). Vacío si no hay asientos
+   */
+  private Mono<Tail> sumTail(String accountNumber, ObjectId after, ObjectId before) {
+    Criteria range = Criteria.where(ACCOUNT_NUMBER).is(accountNumber);
+    if (after != null || before != null) {
+      Criteria id = range.and(ID);
+      if (after != null) {
+        id.gt(after);
+      }
+      if (before != null) {
+        id.lt(before);
+      }
+    }
+
+    Aggregation aggregation = Aggregation.newAggregation(
+          Aggregation.match(range),
+          Aggregation.group(ACCOUNT_NUMBER).sum("amount").as("total").max("id").as("lastEntryId"));
+
+    return mongoTemplate.aggregate(aggregation, LedgerEntryEntity.class, Document.class)
+          .next()
+          .map(result -> new Tail(toBigDecimal(result.get("total")), result.getObjectId("lastEntryId")));
+  }
+
+  // ==================== INSTANTÁNEAS ====================
+
+  /**
+   * Crea una instantánea nueva para cada cuenta con asientos desde el ciclo anterior.
+   * Solo incluye asientos anteriores a upTo: una inserción en vuelo con un ObjectId menor
+   * no debe quedar detrás de la instantánea. Devuelve el número de instantáneas creadas.
+   */
+  public Mono<Long> takeSnapshots(Instant upTo, int concurrency) {
+    ObjectId cutoff = ObjectId.getSmallestWithDate(Date.from(upTo));
+
+    return snapshotWatermark()
+          .flatMapMany(since -> {
+            Criteria window = since.isPresent()
+                  ? Criteria.where(ID).gte(since.get()).lt(cutoff)
+                  : Criteria.where(ID).lt(cutoff);
+            Aggregation activeAccounts = Aggregation.newAggregation(
+                  Aggregation.match(window),
+                  Aggregation.group(ACCOUNT_NUMBER));
+            return mongoTemplate.aggregate(activeAccounts, LedgerEntryEntity.class, Document.class);
+          })
+          .map(result -> result.getString(ID))
+          .flatMap(accountNumber -> takeSnapshot(accountNumber, cutoff), concurrency)
+          .count()
+          .flatMap(created -> advanceSnapshotWatermark(cutoff).thenReturn(created));
+  }
+
+  /**
+   * Límite superior del último ciclo, guardado en balance_snapshots: tras un reinicio el siguiente
+   * ciclo solo revisa cuentas con asientos nuevos en lugar de todo movements
+   */
+  private Mono<Optional<ObjectId>> snapshotWatermark() {
+    return snapshotRepository.findById(SNAPSHOT_WATERMARK_ID)
+          .map(watermark -> Optional.ofNullable(watermark.getLastEntryId()))
+          .defaultIfEmpty(Optional.empty());
+  }
+
+  /**
+   * $max: un ciclo más lento de otra instancia no hace retroceder el límite
+   */
+  private Mono<Void> advanceSnapshotWatermark(ObjectId cutoff) {
+    return mongoTemplate.upsert(new Query(Criteria.where(ID).is(SNAPSHOT_WATERMARK_ID)),
+                new Update().max(LAST_ENTRY_ID, cutoff).set(TAKEN_AT, Instant.now()), BalanceSnapshotEntity.class)
+          .then();
+  }
+
+  private Mono<Boolean> takeSnapshot(String accountNumber, ObjectId cutoff) {
+    return latestSnapshot(accountNumber)
+          .flatMap(previous -> {
+            BigDecimal base = previous.map(BalanceSnapshotEntity::getBalance).orElse(BigDecimal.ZERO);
+            return sumTail(accountNumber, previous.map(BalanceSnapshotEntity::getLastEntryId).orElse(null), cutoff)
+                  .map(tail -> snapshot(accountNumber, base.add(tail.getTotal()), tail));
+          })
+          .flatMap(snapshotRepository::insert)
+          .map(saved -> true)
+          // Otra instancia ya tomó la misma instantánea
+          .onErrorResume(DuplicateKeyException.class, error -> Mono.empty());
+  }
+
+  private Mono<Optional<BalanceSnapshotEntity>> latestSnapshot(String accountNumber) {
+    return snapshotRepository.findFirstByAccountNumberOrderByLastEntryIdDesc(accountNumber)
+          .map(Optional::of)
+          .defaultIfEmpty(Optional.empty());
+  }
+
+  private BalanceSnapshotEntity snapshot(String accountNumber, BigDecimal balance, Tail tail) {
+    return BalanceSnapshotEntity.builder()
+          .accountNumber(accountNumber)
+          .balance(balance)
+          .lastEntryId(tail.getLastEntryId())
+          .takenAt(Instant.now())
+          .build();
+  }
+
+  // ==================== APERTURA DE CUENTAS EXISTENTES ====================
+
+  /**
+   * Registra el asiento OPENING de las cuentas que no lo tienen (anteriores al libro, o cuya apertura
+   * no llegó a registrarse): saldo actual menos los asientos de la cuenta ya insertados o pendientes.
+   * Una pasada sin cuentas por reintentar se marca en balance_snapshots y no se repite al arrancar.
+   * Devuelve el número de asientos creados
+   */
+  public Mono<Long> backfillOpenings(int concurrency, int attempts) {
+    return snapshotRepository.existsById(OPENING_BACKFILL_ID)
+          .flatMap(done -> done ? Mono.just(0L) : backfillAllOpenings(concurrency, attempts));
+  }
+
+  private Mono<Long> backfillAllOpenings(int concurrency, int attempts) {
+    Query allAccounts = new Query();
+    allAccounts.fields().include(ACCOUNT_NUMBER);
+
+    return mongoTemplate.find(allAccounts, AccountEntity.class)
+          .flatMap(account -> backfillOpening(account.getAccountNumber(), attempts), concurrency)
+          .collect(Collectors.groupingBy(outcome -> outcome, () -> new EnumMap<>(Opening.class), Collectors.counting()))
+          .flatMap(outcomes -> {
+            long created = outcomes.getOrDefault(Opening.CREATED, 0L);
+            long retry = outcomes.getOrDefault(Opening.RETRY, 0L);
+            log.info("📒 Asientos de apertura: creados={}, existentes={}, por reintentar={}",
+                  created, outcomes.getOrDefault(Opening.PRESENT, 0L), retry);
+            return retry > 0
+                  ? Mono.just(created)
+                  : mongoTemplate.upsert(new Query(Criteria.where(ID).is(OPENING_BACKFILL_ID)),
+                        Update.update(TAKEN_AT, Instant.now()), BalanceSnapshotEntity.class).thenReturn(created);
+          });
+  }
+
+  /**
+   * Si la cuenta cambió entre la lectura y la escritura se vuelve a leer, hasta attempts veces
+   */
+  private Mono<Opening> backfillOpening(String accountNumber, int attempts) {
+    return mongoTemplate.exists(openingQuery(accountNumber), LedgerEntryEntity.class)
+          .flatMap(present -> present
+                ? Mono.just(Opening.PRESENT)
+                : mongoTemplate.findOne(new Query(Criteria.where(ACCOUNT_NUMBER).is(accountNumber)), AccountEntity.class)
+                      .flatMap(this::openIfUnchanged)
+                      // Cuenta eliminada entretanto
+                      .defaultIfEmpty(Opening.PRESENT))
+          .flatMap(outcome -> outcome == Opening.RETRY && attempts > 1
+                ? backfillOpening(accountNumber, attempts - 1)
+                : Mono.just(outcome))
+          .onErrorResume(error -> {
+            log.warn("⚠️ Asiento de apertura de la cuenta {} pendiente: {}", accountNumber, error.getMessage());
+            return Mono.just(Opening.RETRY);
+          });
+  }
+
+  /**
+   * El asiento se guarda en la cuenta solo si saldo y recentTransactions siguen como se leyeron: un
+   * movimiento aplicado entretanto cambia ambos, y su asiento quedaría contado en el saldo y en el libro
+   */
+  private Mono<Opening> openIfUnchanged(AccountEntity account) {
+    String transactionId = LedgerEntry.openingTransactionId(account.getAccountNumber());
+    List<PendingLedgerEntry> pending = account.getPendingLedger() == null ? List.of() : account.getPendingLedger();
+    if (pending.stream().anyMatch(entry -> transactionId.equals(entry.getTransactionId()))) {
+      // Ya guardado en la cuenta: lo inserta recoverPending
+      return Mono.just(Opening.PRESENT);
+    }
+
+    BigDecimal balance = account.getBalance() != null ? account.getBalance() : BigDecimal.ZERO;
+    Mono<BigDecimal> inserted = sumTail(account.getAccountNumber(), null, null)
+          .map(Tail::getTotal)
+          .defaultIfEmpty(BigDecimal.ZERO);
+
+    return Mono.zip(inserted, notInserted(account.getAccountNumber(), pending))
+          .flatMap(recorded -> {
+            LedgerEntry opening = LedgerEntry.builder()
+                  .transactionId(transactionId)
+                  .accountNumber(account.getAccountNumber())
+                  .type(LedgerEntryType.OPENING)
+                  .amount(balance.subtract(recorded.getT1()).subtract(recorded.getT2()))
+                  .commission(BigDecimal.ZERO)
+                  .timestamp(Instant.now())
+                  .build();
+            Query unchanged = new Query(Criteria.where(ACCOUNT_NUMBER).is(account.getAccountNumber())
+                  .and(BALANCE).is(account.getBalance())
+                  .and(RECENT_TRANSACTIONS).is(account.getRecentTransactions())
+                  .and(PENDING_LEDGER + "." + TRANSACTION_ID).ne(transactionId));
+
+            return mongoTemplate.updateFirst(unchanged,
+                        new Update().push(PENDING_LEDGER, PendingLedgerEntry.from(opening)), AccountEntity.class)
+                  .flatMap(result -> result.getModifiedCount() == 0
+                        ? Mono.just(Opening.RETRY)
+                        : append(List.of(opening))
+                              // Ya está en la cuenta: si la inserción falla lo inserta recoverPending
+                              .onErrorResume(error -> Mono.empty())
+                              .thenReturn(Opening.CREATED));
+          });
+  }
+
+  /**
+   * Suma de los asientos pendientes en la cuenta que aún no están en movements
+   */
+  private Mono<BigDecimal> notInserted(String accountNumber, List<PendingLedgerEntry> pending) {
+    if (pending.isEmpty()) {
+      return Mono.just(BigDecimal.ZERO);
+    }
+    List<String> transactionIds = pending.stream().map(PendingLedgerEntry::getTransactionId).collect(Collectors.toList());
+    Query inserted = new Query(Criteria.where(TRANSACTION_ID).in(transactionIds).and(ACCOUNT_NUMBER).is(accountNumber));
+
+    return mongoTemplate.find(inserted, LedgerEntryEntity.class)
+          .map(entry -> entry.getTransactionId() + ":" + entry.getType())
+          .collect(Collectors.toSet())
+          .map(keys -> pending.stream()
+                .filter(entry -> !keys.contains(entry.getTransactionId() + ":" + entry.getType()))
+                .map(PendingLedgerEntry::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+  }
+
+  private Query openingQuery(String accountNumber) {
+    return new Query(Criteria.where(TRANSACTION_ID).is(LedgerEntry.openingTransactionId(accountNumber))
+          .and(ACCOUNT_NUMBER).is(accountNumber)
+          .and("type").is(LedgerEntryType.OPENING));
+  }
+
+  private enum Opening {
+    CREATED,      // Asiento guardado en la cuenta (e insertado salvo error)
+    PRESENT,      // La cuenta ya lo tenía o ya no existe
+    RETRY         // La cuenta cambió en todos los intentos o hubo un error
+  }
+
+  // ==================== CONVERSIONES ====================
+
+  private boolean isOnlyDuplicates(Throwable error) {
+    return error instanceof MongoBulkWriteException
+          && ((MongoBulkWriteException) error).getWriteConcernError() == null
+          && ((MongoBulkWriteException) error).getWriteErrors().stream()
+                .allMatch(writeError -> ErrorCategory.fromErrorCode(writeError.getCode()) == ErrorCategory.DUPLICATE_KEY);
+  }
+
+  private Document toDocument(LedgerEntryEntity entity) {
+    Document document = new Document();
+    mongoTemplate.getConverter().write(entity, document);
+    return document;
+  }
+
+  private BigDecimal toBigDecimal(Object value) {
+    if (value instanceof Decimal128) {
+      return ((Decimal128) value).bigDecimalValue();
+    }
+    return value instanceof Number ? new BigDecimal(value.toString()) : BigDecimal.ZERO;
+  }
+
+  private LedgerEntryEntity toEntity(LedgerEntry entry) {
+    return LedgerEntryEntity.builder()
+          .transactionId(entry.getTransactionId())
+          .accountNumber(entry.getAccountNumber())
+          .type(entry.getType())
+          .amount(entry.getAmount())
+          .commission(entry.getCommission())
+          .timestamp(entry.getTimestamp())
+          .build();
+  }
+
+  private LedgerEntry toDomain(LedgerEntryEntity entity) {
+    return LedgerEntry.builder()
+          .id(entity.getId())
+          .transactionId(entity.getTransactionId())
+          .accountNumber(entity.getAccountNumber())
+          .type(entity.getType())
+          .amount(entity.getAmount())
+          .commission(entity.getCommission())
+          .timestamp(entity.getTimestamp())
+          .build();
+  }
+
+  /**
+   * Suma de asientos posteriores a una instantánea
+   */
+  @Value
+  private static class Tail {
+    BigDecimal total;
+    ObjectId lastEntryId;
+  }
+}
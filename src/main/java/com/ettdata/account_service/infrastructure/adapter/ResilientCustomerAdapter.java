@@ -0,0 +1,49 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.application.port.out.CustomerOutputPort;
+import com.ettdata.account_service.domain.error.CustomerServiceUnavailableException;
+import com.ettdata.account_service.domain.model.CustomerResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Circuit breaker y bulkhead delante del servicio de clientes.
+ * - Bulkhead: acota las llamadas simultáneas; sin permiso libre se rechaza al momento, sin esperar
+ * - Circuit breaker: ventana deslizante de fallos y llamadas lentas; abierto, falla sin llamar
+ * Ambos rechazos se traducen a CustomerServiceUnavailableException (no a "cliente no encontrado").
+ */
+@Slf4j
+public class ResilientCustomerAdapter implements CustomerOutputPort {
+
+  private final CustomerOutputPort delegate;
+  private final CircuitBreaker circuitBreaker;
+  private final Bulkhead bulkhead;
+
+  public ResilientCustomerAdapter(CustomerOutputPort delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+    this.delegate = delegate;
+    this.circuitBreaker = circuitBreaker;
+    this.bulkhead = bulkhead;
+  }
+
+  @Override
+  public Mono<CustomerResponse> getCustomerByDocument(String customerDocument) {
+    // El circuit breaker queda por fuera: abierto no consume permisos del bulkhead
+    return delegate.getCustomerByDocument(customerDocument)
+          .transformDeferred(BulkheadOperator.of(bulkhead))
+          .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+          .onErrorMap(CallNotPermittedException.class, error -> {
+            log.warn("⛔ Circuit breaker abierto, servicio de clientes no consultado: {}", customerDocument);
+            return new CustomerServiceUnavailableException("Servicio de clientes no disponible (circuito abierto)", error);
+          })
+          .onErrorMap(BulkheadFullException.class, error -> {
+            log.warn("⛔ Bulkhead lleno, servicio de clientes no consultado: {}", customerDocument);
+            return new CustomerServiceUnavailableException("Servicio de clientes saturado", error);
+          });
+  }
+}
@@ -0,0 +1,87 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.application.port.out.TransactionIdempotencyOutputPort;
+import com.ettdata.account_service.infrastructure.config.IdempotencyProperties;
+import com.ettdata.account_service.infrastructure.entity.ProcessedTransactionEntity;
+import com.ettdata.account_service.infrastructure.repository.ProcessedTransactionRepository;
+import com.ettdata.account_service.infrastructure.utils.CacheMetrics;
+import com.ettdata.avro.AccountValidationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Registro de transacciones procesadas: caché acotada en memoria para la ventana caliente,
+ * respaldada por la colección processed_transactions con índice TTL (declarado en ProcessedTransactionEntity).
+ */
+@Component
+@Slf4j
+public class TransactionIdempotencyAdapter implements TransactionIdempotencyOutputPort {
+
+  private final ProcessedTransactionRepository repository;
+  private final Cache<String, AccountValidationResponse> recentResponses;
+
+  public TransactionIdempotencyAdapter(ProcessedTransactionRepository repository,
+                                       IdempotencyProperties properties,
+                                       MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.recentResponses = Caffeine.newBuilder()
+          .maximumSize(properties.getCacheMaxSize())
+          .expireAfterWrite(properties.getCacheTtl())
+          .recordStats()
+          .build();
+    CacheMetrics.monitor(meterRegistry, recentResponses, "idempotency");
+  }
+
+  @Override
+  public Mono<AccountValidationResponse> findProcessedResponse(String transactionId) {
+    AccountValidationResponse cached = recentResponses.getIfPresent(transactionId);
+    if (cached != null) {
+      return Mono.just(cached);
+    }
+
+    return repository.findById(transactionId)
+          .map(this::toResponse)
+          .doOnNext(response -> recentResponses.put(transactionId, response));
+  }
+
+  @Override
+  public Mono<AccountValidationResponse> saveProcessedResponse(AccountValidationResponse response) {
+    recentResponses.put(response.getTransactionId(), response);
+
+    return repository.save(toEntity(response))
+          .thenReturn(response)
+          .onErrorResume(error -> {
+            log.warn("Could not persist processed transaction {}: {}", response.getTransactionId(), error.getMessage());
+            return Mono.just(response);
+          });
+  }
+
+  public Cache<String, AccountValidationResponse> getRecentResponses() {
+    return recentResponses;
+  }
+
+  private ProcessedTransactionEntity toEntity(AccountValidationResponse response) {
+    return ProcessedTransactionEntity.builder()
+          .transactionId(response.getTransactionId())
+          .accountNumber(response.getAccountNumber())
+          .codResponse(response.getCodResponse())
+          .messageResponse(response.getMessageResponse())
+          .processedAt(Instant.now())
+          .build();
+  }
+
+  private AccountValidationResponse toResponse(ProcessedTransactionEntity entity) {
+    return AccountValidationResponse.newBuilder()
+          .setTransactionId(entity.getTransactionId())
+          .setAccountNumber(entity.getAccountNumber())
+          .setCodResponse(entity.getCodResponse())
+          .setMessageResponse(entity.getMessageResponse())
+          .build();
+  }
+}
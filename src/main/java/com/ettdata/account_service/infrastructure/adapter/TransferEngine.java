@@ -0,0 +1,333 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.domain.model.AccountMovement;
+import com.ettdata.account_service.domain.model.AccountTransfer;
+import com.ettdata.account_service.domain.model.LedgerEntry;
+import com.ettdata.account_service.domain.model.LedgerEntryType;
+import com.ettdata.account_service.domain.model.Money;
+import com.ettdata.account_service.domain.model.MovementRejection;
+import com.ettdata.account_service.domain.model.TransferResult;
+import com.ettdata.account_service.infrastructure.config.TransferProperties;
+import com.ettdata.account_service.infrastructure.entity.PendingTransferEntity;
+import com.ettdata.account_service.infrastructure.repository.PendingTransferRepository;
+import com.mongodb.MongoException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Aplica el cargo y el abono de una transferencia como una unidad, según account.transfer.mode:
+ * - COMPENSATING: dos findAndModify guardados; si el abono no se aplica se revierte el cargo.
+ *   Una caída entre ambos, o una reversión fallida (se registra), deja el cargo sin abono.
+ * - TRANSACTION: ambos findAndModify en una transacción multi-documento (replica set).
+ *   Un único commit; los conflictos de escritura se reintentan como TransientTransactionError.
+ * - JOURNAL: para despliegues standalone. Se registra la transferencia en pending_transfers,
+ *   cargo y abono retienen sus cuentas (pendingTransfers, con el id de cada pata) y se liberan al confirmar.
+ *   Cada paso es idempotente, así que recoverJournal completa o revierte las entradas
+ *   que una caída dejó a medias.
+ */
+@Slf4j
+@Component
+public class TransferEngine {
+
+  private final AccountMovementWriter movementWriter;
+  private final PendingTransferRepository journalRepository;
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final ObjectProvider<TransactionalOperator> transactionalOperator;
+  private final TransferProperties properties;
+
+  public TransferEngine(AccountMovementWriter movementWriter,
+                        PendingTransferRepository journalRepository,
+                        ReactiveMongoTemplate mongoTemplate,
+                        ObjectProvider<TransactionalOperator> transactionalOperator,
+                        TransferProperties properties) {
+    this.movementWriter = movementWriter;
+    this.journalRepository = journalRepository;
+    this.mongoTemplate = mongoTemplate;
+    this.transactionalOperator = transactionalOperator;
+    this.properties = properties;
+  }
+
+  public Mono<TransferResult> execute(AccountTransfer transfer) {
+    switch (properties.getMode()) {
+      case TRANSACTION:
+        return transactional(transfer);
+      case JOURNAL:
+        return journaled(transfer);
+      default:
+        return compensating(transfer);
+    }
+  }
+
+  // ==================== COMPENSATING ====================
+
+  private Mono<TransferResult> compensating(AccountTransfer transfer) {
+    AccountMovement debit = transfer.getDebit();
+
+    return movementWriter.apply(debit)
+          .flatMap(debited -> {
+            if (!debited.isApplied()) {
+              return Mono.just(TransferResult.rejected(debited.getRejection(), debited.getAccount()));
+            }
+            return movementWriter.apply(transfer.getCredit())
+                  .onErrorResume(error -> compensate(transfer)
+                        .onErrorResume(compensationError -> {
+                          // Se propaga el error del abono; el de la compensación queda adjunto
+                          error.addSuppressed(compensationError);
+                          return Mono.empty();
+                        })
+                        .then(Mono.error(error)))
+                  .flatMap(credited -> credited.isApplied()
+                        ? Mono.just(TransferResult.applied(debited.getAccount(), credited.getAccount()))
+                        : targetMissing(transfer, compensate(transfer)));
+          });
+  }
+
+  /**
+   * Revierte el cargo (solo si la cuenta aún registra su transactionId). Si la reversión falla o no
+   * se aplica, el cargo queda sin abono: se registra con los datos necesarios para corregirlo a mano
+   */
+  private Mono<Void> compensate(AccountTransfer transfer) {
+    AccountMovement debit = transfer.getDebit();
+    return movementWriter.revert(debit)
+          .switchIfEmpty(Mono.error(() -> new IllegalStateException("Cargo no registrado en la cuenta origen")))
+          .then()
+          .doOnError(error -> log.error("❌ Compensación fallida, cargo sin abono: transferId={}, origen={}, "
+                      + "importe={}, periodo={}: {}",
+                transfer.getTransferId(), debit.getAccountNumber(), Money.format(-debit.getBalanceDelta()),
+                debit.getPeriod(), error.getMessage()));
+  }
+
+  // ==================== TRANSACTION ====================
+
+  /**
+   * Si el abono no se aplica la transacción se aborta, y con ella el cargo
+   */
+  private Mono<TransferResult> transactional(AccountTransfer transfer) {
+    TransactionalOperator operator = transactionalOperator.getIfAvailable();
+    if (operator == null) {
+      return Mono.error(new IllegalStateException("account.transfer.mode=transaction sin TransactionalOperator"));
+    }
+
+    Mono<TransferResult> unit = movementWriter.apply(transfer.getDebit())
+          .flatMap(debited -> {
+            if (!debited.isApplied()) {
+              return Mono.just(TransferResult.rejected(debited.getRejection(), debited.getAccount()));
+            }
+            return movementWriter.apply(transfer.getCredit())
+                  .flatMap(credited -> credited.isApplied()
+                        ? Mono.just(TransferResult.applied(debited.getAccount(), credited.getAccount()))
+                        : Mono.error(new TargetMissingException()));
+          });
+
+    return operator.transactional(unit)
+          .retryWhen(Retry.max(properties.getTransactionRetries()).filter(this::isTransientTransactionError))
+          .onErrorResume(TargetMissingException.class, error -> targetMissing(transfer, Mono.empty()));
+  }
+
+  private boolean isTransientTransactionError(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof MongoException
+            && ((MongoException) cause).hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Aborta la transacción sin tratarse como un error de la transferencia
+   */
+  private static final class TargetMissingException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    TargetMissingException() {
+      super("Cuenta destino no disponible", null, false, false);
+    }
+  }
+
+  // ==================== JOURNAL ====================
+
+  private Mono<TransferResult> journaled(AccountTransfer transfer) {
+    PendingTransferEntity journal = toJournal(transfer);
+    AccountMovement debit = held(transfer.getDebit(), AccountTransfer.debitTransactionId(journal.getId()));
+    AccountMovement credit = held(transfer.getCredit(), AccountTransfer.creditTransactionId(journal.getId()));
+
+    return journalRepository.insert(journal)
+          .map(saved -> true)
+          .onErrorResume(DuplicateKeyException.class, error -> Mono.just(false))
+          .flatMap(registered -> {
+            if (!registered) {
+              log.warn("⚠️ Transferencia ya registrada en el diario: {}", journal.getId());
+              return Mono.just(TransferResult.rejected(MovementRejection.TRANSFER_IN_PROGRESS, null));
+            }
+            return movementWriter.apply(debit)
+                  .flatMap(debited -> {
+                    if (!debited.isApplied()) {
+                      return journalRepository.deleteById(journal.getId())
+                            .thenReturn(TransferResult.rejected(debited.getRejection(), debited.getAccount()));
+                    }
+                    // Un error a partir de aquí deja la entrada PENDING: la completa recoverJournal
+                    return movementWriter.apply(credit)
+                          .flatMap(credited -> credited.isApplied()
+                                ? commit(journal).thenReturn(TransferResult.applied(debited.getAccount(), credited.getAccount()))
+                                : targetMissing(transfer, abort(journal)));
+                  });
+          });
+  }
+
+  /**
+   * Revisa las entradas del diario más antiguas que olderThan (una caída o un error las dejó
+   * a medias) y las lleva a su estado final. Devuelve el número de entradas resueltas
+   */
+  public Mono<Long> recoverJournal(Instant olderThan) {
+    return journalRepository.findByCreatedAtLessThanOrderByCreatedAtAsc(olderThan,
+                PageRequest.of(0, properties.getRecoveryBatchSize()))
+          .concatMap(journal -> recover(journal)
+                .thenReturn(journal)
+                .onErrorResume(error -> {
+                  log.error("❌ No se pudo recuperar la transferencia {}: {}", journal.getId(), error.getMessage());
+                  return Mono.empty();
+                }))
+          .count();
+  }
+
+  private Mono<Void> recover(PendingTransferEntity journal) {
+    if (journal.getState() == PendingTransferEntity.State.COMMITTED) {
+      return release(journal);
+    }
+
+    // PENDING: sin retención en origen el cargo nunca se aplicó (o ya se revirtió)
+    return movementWriter.isHeld(journal.getSourceAccount(), AccountTransfer.debitTransactionId(journal.getId()))
+          .flatMap(debited -> {
+            if (!debited) {
+              log.info("♻️ Transferencia sin cargo aplicado, se descarta: {}", journal.getId());
+              return journalRepository.deleteById(journal.getId());
+            }
+            // Cargo aplicado: se completa el abono (idempotente) o, si la destino no existe, se revierte
+            return movementWriter.apply(creditOf(journal))
+                  .flatMap(credited -> {
+                    if (credited.isApplied()) {
+                      log.info("♻️ Transferencia completada por recuperación: {}", journal.getId());
+                      return commit(journal);
+                    }
+                    log.warn("♻️ Transferencia revertida por recuperación (destino no disponible): {}", journal.getId());
+                    return abort(journal);
+                  });
+          });
+  }
+
+  /**
+   * Marca la entrada como confirmada y libera las retenciones. La transferencia ya está aplicada:
+   * si la liberación falla se registra y la termina recoverJournal
+   */
+  private Mono<Void> commit(PendingTransferEntity journal) {
+    Query entry = new Query(Criteria.where("_id").is(journal.getId()));
+    return mongoTemplate.updateFirst(entry, Update.update("state", PendingTransferEntity.State.COMMITTED),
+                PendingTransferEntity.class)
+          .then(release(journal)
+                .onErrorResume(error -> {
+                  log.warn("⚠️ Retenciones de la transferencia {} pendientes de liberar: {}",
+                        journal.getId(), error.getMessage());
+                  return Mono.empty();
+                }));
+  }
+
+  private Mono<Void> release(PendingTransferEntity journal) {
+    return movementWriter.releaseHolds(List.of(journal.getSourceAccount(), journal.getTargetAccount()),
+                List.of(AccountTransfer.debitTransactionId(journal.getId()),
+                      AccountTransfer.creditTransactionId(journal.getId())))
+          .then(journalRepository.deleteById(journal.getId()));
+  }
+
+  /**
+   * Revierte el cargo retenido (no-op si ya no estaba retenido) y descarta la entrada
+   */
+  private Mono<Void> abort(PendingTransferEntity journal) {
+    return movementWriter.revert(debitOf(journal))
+          .then(journalRepository.deleteById(journal.getId()));
+  }
+
+  private AccountMovement held(AccountMovement movement, String transferId) {
+    return movement.toBuilder().transferId(transferId).build();
+  }
+
+  private PendingTransferEntity toJournal(AccountTransfer transfer) {
+    return PendingTransferEntity.builder()
+          .id(transfer.getTransferId())
+          .sourceAccount(transfer.getDebit().getAccountNumber())
+          .targetAccount(transfer.getCredit().getAccountNumber())
+          .debitDelta(transfer.getDebit().getBalanceDelta())
+          .creditDelta(transfer.getCredit().getBalanceDelta())
+          .debitPeriod(transfer.getDebit().getPeriod())
+          .creditPeriod(transfer.getCredit().getPeriod())
+          .state(PendingTransferEntity.State.PENDING)
+          .createdAt(Instant.now())
+          .build();
+  }
+
+  /**
+   * El asiento solo identifica el que la reversión quita de la cuenta origen (pendingLedger)
+   */
+  private AccountMovement debitOf(PendingTransferEntity journal) {
+    String transactionId = AccountTransfer.debitTransactionId(journal.getId());
+    return AccountMovement.builder()
+          .accountNumber(journal.getSourceAccount())
+          .balanceDelta(journal.getDebitDelta())
+          .period(journal.getDebitPeriod())
+          .transferId(transactionId)
+          .transactionId(transactionId)
+          .ledgerEntry(LedgerEntry.builder()
+                .transactionId(journal.getId())
+                .accountNumber(journal.getSourceAccount())
+                .type(LedgerEntryType.TRANSFER_OUT)
+                .build())
+          .build();
+  }
+
+  /**
+   * El abono no tiene límite de movimientos: en recuperación basta con repetirlo retenido
+   */
+  private AccountMovement creditOf(PendingTransferEntity journal) {
+    String transactionId = AccountTransfer.creditTransactionId(journal.getId());
+    return AccountMovement.builder()
+          .accountNumber(journal.getTargetAccount())
+          .balanceDelta(journal.getCreditDelta())
+          .minMovements(0)
+          .maxMovements(Integer.MAX_VALUE)
+          .period(journal.getCreditPeriod())
+          .transferId(transactionId)
+          .transactionId(transactionId)
+          // Queda pendiente en la cuenta destino: lo inserta en movements LedgerRecoveryScheduler
+          .ledgerEntry(LedgerEntry.builder()
+                .transactionId(journal.getId())
+                .accountNumber(journal.getTargetAccount())
+                .type(LedgerEntryType.TRANSFER_IN)
+                .amount(Money.toDecimal(journal.getCreditDelta()))
+                .commission(BigDecimal.ZERO)
+                .timestamp(Instant.now())
+                .build())
+          .build();
+  }
+
+  // ==================== COMÚN ====================
+
+  private Mono<TransferResult> targetMissing(AccountTransfer transfer, Mono<?> compensation) {
+    log.error("❌ Cuenta destino no disponible, cargo no aplicado: destino={}",
+          transfer.getCredit().getAccountNumber());
+    return compensation.then(Mono.just(TransferResult.rejected(MovementRejection.TARGET_NOT_FOUND, null)));
+  }
+}
@@ -0,0 +1,15 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "account.cache")
+public class AccountCacheProperties {
+    private long maxSize = 100_000;                        // Cuentas en memoria
+    private Duration expireAfterWrite = Duration.ofSeconds(30);
+}
@@ -0,0 +1,47 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import com.ettdata.account_service.application.port.out.AccountRepositoryOutputPort;
+import com.ettdata.account_service.infrastructure.adapter.AccountAdapter;
+import com.ettdata.account_service.infrastructure.adapter.CachingAccountRepositoryAdapter;
+import com.ettdata.account_service.infrastructure.adapter.CoalescingAccountRepositoryAdapter;
+import com.ettdata.account_service.infrastructure.utils.AccountMapper;
+import com.ettdata.account_service.infrastructure.utils.CacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+/**
+ * Cadena de adaptadores de persistencia de cuentas expuesta como AccountRepositoryOutputPort:
+ * caché → agrupación de escrituras (opcional) → Mongo
+ */
+@Configuration
+public class AccountRepositoryConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "account.write-coalescing", name = "enabled", havingValue = "true")
+    public CoalescingAccountRepositoryAdapter coalescingAccountRepositoryAdapter(AccountAdapter accountAdapter,
+                                                                                 AccountMapper accountMapper,
+                                                                                 ReactiveMongoTemplate mongoTemplate,
+                                                                                 WriteCoalescingProperties properties,
+                                                                                 MeterRegistry meterRegistry) {
+        return new CoalescingAccountRepositoryAdapter(accountAdapter, accountMapper, mongoTemplate,
+                properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public CachingAccountRepositoryAdapter cachingAccountRepositoryAdapter(AccountAdapter accountAdapter,
+                                                                           ObjectProvider<CoalescingAccountRepositoryAdapter> coalescingAdapter,
+                                                                           AccountCacheProperties cacheProperties,
+                                                                           MeterRegistry meterRegistry) {
+        CoalescingAccountRepositoryAdapter coalescing = coalescingAdapter.getIfAvailable();
+        AccountRepositoryOutputPort persistence = coalescing != null ? coalescing : accountAdapter;
+        CachingAccountRepositoryAdapter adapter = new CachingAccountRepositoryAdapter(persistence, cacheProperties);
+        CacheMetrics.monitor(meterRegistry, adapter.getCache(), "account");
+        return adapter;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import com.ettdata.account_service.domain.model.AccountType;
+import com.ettdata.account_service.domain.model.CustomerType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Política de cuentas (account.rules): reglas base por tipo de cuenta y, por tipo de cliente,
+ * los tipos de cuenta permitidos y ajustes sobre la regla base.
+ * Si se define location, el archivo (mismas claves account.rules.*) se aplica encima y se recarga en caliente.
+ * Sin valores por defecto: las reglas solo se definen en la configuración, y AccountPolicyProvider
+ * detiene el arranque si falta un tipo de cuenta o de cliente o un valor obligatorio.
+ */
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "account.rules")
+public class AccountRulesProperties {
+
+    @NotEmpty
+    private Map<AccountType, Rule> accountTypes = new EnumMap<>(AccountType.class);
+    @NotEmpty
+    private Map<CustomerType, CustomerRules> customerTypes = new EnumMap<>(CustomerType.class);
+
+    private String location;                                   // Archivo externo recargable (ej. file:/config/account-rules.yml)
+    @NotNull
+    private Duration reloadInterval = Duration.ofSeconds(30);  // Frecuencia de revisión del archivo
+
+    /**
+     * Valores de una regla; en los ajustes por cliente un campo vacío hereda la regla base.
+     * maxMovements vacío en la regla base = sin límite.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private Integer maxMovements;
+        private Integer freeMovements;
+        private BigDecimal commission;
+        private Boolean maintenanceFee;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CustomerRules {
+        private Set<AccountType> allowed = EnumSet.noneOf(AccountType.class);
+        private Map<AccountType, Rule> overrides = new EnumMap<>(AccountType.class);
+    }
+}
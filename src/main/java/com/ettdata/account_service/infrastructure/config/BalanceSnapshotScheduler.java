@@ -0,0 +1,57 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import com.ettdata.account_service.infrastructure.adapter.LedgerAdapter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+
+/**
+ * Toma cada snapshot-interval una instantánea de saldo de las cuentas con asientos nuevos,
+ * para que el saldo según el libro solo sume los asientos recientes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceSnapshotScheduler {
+
+    private final LedgerAdapter ledger;
+    private final LedgerProperties properties;
+
+    private Disposable scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isSnapshotEnabled()) {
+            return;
+        }
+        scheduler = Flux.interval(properties.getSnapshotInterval(), properties.getSnapshotInterval(),
+                        Schedulers.boundedElastic())
+                // Un ciclo lento no se solapa con el siguiente
+                .onBackpressureDrop()
+                .concatMap(tick -> ledger.takeSnapshots(Instant.now().minus(properties.getSnapshotLag()),
+                                properties.getSnapshotConcurrency())
+                        .doOnNext(created -> log.info("📸 Instantáneas de saldo creadas: {}", created))
+                        .onErrorResume(error -> {
+                            log.error("❌ Error tomando instantáneas de saldo: {}", error.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+        log.info("📸 Instantáneas de saldo activas: interval={}, lag={}",
+                properties.getSnapshotInterval(), properties.getSnapshotLag());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "customer.adaptive")
+public class CustomerAdaptiveProperties {
+    private Duration window = Duration.ofMinutes(1);          // Ventana deslizante del histograma de latencias
+    private long minSamples = 50;                             // Llamadas antes de usar los percentiles
+    private double timeoutPercentile = 0.99;
+    private double timeoutMultiplier = 2.0;                   // timeout = p99 x multiplicador
+    private Duration minTimeout = Duration.ofMillis(300);
+    private Duration maxTimeout = Duration.ofSeconds(2);      // También el timeout hasta reunir minSamples
+    private boolean hedgeEnabled = false;                     // Segunda solicitud si la primera supera el p95
+    private double hedgePercentile = 0.95;
+    private Duration minHedgeDelay = Duration.ofMillis(50);
+    private int maxRetries = 1;                               // Reintentos ante fallos del servicio (no con el circuito abierto)
+    private Duration retryBackoff = Duration.ofMillis(50);
+    private double retryBudgetRatio = 0.1;                    // Fichas ganadas por llamada exitosa (10% de reintentos)
+    private double retryBudgetPerSecond = 1;                  // Fichas ganadas por segundo aunque no haya éxitos
+    private double retryBudgetMaxTokens = 10;                 // Capacidad del bucket
+}
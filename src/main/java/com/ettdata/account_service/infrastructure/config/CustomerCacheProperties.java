@@ -0,0 +1,16 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "customer.cache")
+public class CustomerCacheProperties {
+    private long maxSize = 10_000;                         // Documentos en caché
+    private Duration ttl = Duration.ofMinutes(5);          // Clientes encontrados
+    private Duration negativeTtl = Duration.ofSeconds(30); // Documentos inexistentes (404)
+}
@@ -0,0 +1,171 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import com.ettdata.account_service.infrastructure.adapter.CachingCustomerAdapter;
+import com.ettdata.account_service.infrastructure.adapter.CustomerWebClientAdapter;
+import com.ettdata.account_service.infrastructure.adapter.HedgingCustomerAdapter;
+import com.ettdata.account_service.infrastructure.adapter.ResilientCustomerAdapter;
+import com.ettdata.account_service.infrastructure.utils.AdaptiveLatencyPolicy;
+import com.ettdata.account_service.infrastructure.utils.CacheMetrics;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Cadena de adaptadores del servicio de clientes expuesta como CustomerOutputPort:
+ * caché → hedging + reintentos → circuit breaker + bulkhead → WebClient (pool propio, timeout adaptativo)
+ */
+@Configuration
+public class CustomerClientConfig {
+
+    private static final String CUSTOMER_SERVICE = "customerService";
+    private static final String CUSTOMER_BY_DOCUMENT_URI = "/api/customers/document/{documentNumber}";
+
+    /**
+     * Estado, tasas y llamadas se exportan como resilience4j_circuitbreaker_* (tag name=customerService)
+     */
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(CustomerResilienceProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(properties.getSlowCallDurationThreshold())
+                .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // Un 4xx es un error de la solicitud y el bulkhead lleno no indica que el servicio falle
+                .ignoreExceptions(IllegalArgumentException.class, BulkheadFullException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Sin espera por un permiso: en un hilo del event loop esperar equivale a bloquearlo.
+     * El límite se deriva del pool (ver poolCapacity) para que ambos no se contradigan: un bulkhead menor
+     * dejaría sin uso conexiones y cola de adquisición; uno mayor solo trasladaría el rechazo al pool
+     */
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(CustomerHttpClientProperties httpProperties, MeterRegistry meterRegistry) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(poolCapacity(httpProperties))
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Pool propio para el servicio de clientes. Con metrics(true) Reactor Netty publica los gauges
+     * reactor.netty.connection.provider.* (total, activas, ociosas, adquisiciones pendientes)
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider customerConnectionProvider(CustomerHttpClientProperties properties) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(CUSTOMER_SERVICE)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .metrics(true);
+
+        if (usesHttp2(properties)) {
+            // Una conexión HTTP/2 atiende varias solicitudes a la vez: el límite es por streams
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(properties.getMaxConnections())
+                    .maxConcurrentStreams(properties.getMaxConcurrentStreams())
+                    .minConnections(1)
+                    .build());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public HttpClient customerHttpClient(ConnectionProvider customerConnectionProvider,
+                                         CustomerHttpClientProperties properties) {
+        return HttpClient.create(customerConnectionProvider)
+                .protocol(properties.getProtocols().toArray(new HttpProtocol[0]))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout())
+                // Una sola plantilla de URI: el número de documento no debe ser un tag
+                .metrics(true, uri -> CUSTOMER_BY_DOCUMENT_URI);
+    }
+
+    /**
+     * Solicitudes que el pool atiende a la vez (una por conexión en HTTP/1.1, max-concurrent-streams
+     * por conexión en HTTP/2) más las que admite en su cola de adquisición
+     */
+    private static int poolCapacity(CustomerHttpClientProperties properties) {
+        int perConnection = usesHttp2(properties) ? properties.getMaxConcurrentStreams() : 1;
+        return Math.addExact(Math.multiplyExact(properties.getMaxConnections(), perConnection),
+                properties.getPendingAcquireMaxCount());
+    }
+
+    private static boolean usesHttp2(CustomerHttpClientProperties properties) {
+        return properties.getProtocols().contains(HttpProtocol.H2C) || properties.getProtocols().contains(HttpProtocol.H2);
+    }
+
+    /**
+     * Histograma deslizante customer.client.latency del que salen el timeout y el retraso de hedging
+     */
+    @Bean
+    public AdaptiveLatencyPolicy customerLatencyPolicy(CustomerAdaptiveProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        return new AdaptiveLatencyPolicy(meterRegistry, "customer.client.latency", properties.getWindow(),
+                properties.getMinSamples(), properties.getTimeoutPercentile(), properties.getTimeoutMultiplier(),
+                properties.getMinTimeout(), properties.getMaxTimeout(), properties.getHedgePercentile(),
+                properties.getMinHedgeDelay());
+    }
+
+    @Bean
+    public ResilientCustomerAdapter resilientCustomerAdapter(CustomerWebClientAdapter webClientAdapter,
+                                                             CircuitBreakerRegistry circuitBreakerRegistry,
+                                                             BulkheadRegistry bulkheadRegistry) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(CUSTOMER_SERVICE);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(CUSTOMER_SERVICE);
+        return new ResilientCustomerAdapter(webClientAdapter, circuitBreaker, bulkhead);
+    }
+
+    @Bean
+    public HedgingCustomerAdapter hedgingCustomerAdapter(ResilientCustomerAdapter resilientAdapter,
+                                                         AdaptiveLatencyPolicy customerLatencyPolicy,
+                                                         CustomerAdaptiveProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new HedgingCustomerAdapter(resilientAdapter, customerLatencyPolicy, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public CachingCustomerAdapter cachingCustomerAdapter(HedgingCustomerAdapter hedgingAdapter,
+                                                         CustomerCacheProperties cacheProperties,
+                                                         MeterRegistry meterRegistry) {
+        CachingCustomerAdapter adapter = new CachingCustomerAdapter(hedgingAdapter, cacheProperties);
+        CacheMetrics.monitor(meterRegistry, adapter.getCache().synchronous(), "customer");
+        return adapter;
+    }
+}
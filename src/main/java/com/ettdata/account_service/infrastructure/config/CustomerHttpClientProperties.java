@@ -0,0 +1,25 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "customer.http-client")
+public class CustomerHttpClientProperties {
+    private int maxConnections = 100;                         // Conexiones del pool hacia el servicio de clientes
+    private int pendingAcquireMaxCount = 500;                 // Solicitudes en cola esperando conexión
+    private Duration pendingAcquireTimeout = Duration.ofMillis(500); // Espera máxima por una conexión libre
+    private Duration maxIdleTime = Duration.ofSeconds(30);    // Conexiones ociosas se cierran
+    private Duration maxLifeTime = Duration.ofMinutes(5);     // Vida máxima de una conexión
+    private Duration evictionInterval = Duration.ofSeconds(30); // Desalojo en segundo plano
+    private Duration connectTimeout = Duration.ofMillis(500);
+    private Duration responseTimeout = Duration.ofSeconds(2);
+    private List<HttpProtocol> protocols = List.of(HttpProtocol.HTTP11); // HTTP11, H2C (http), H2 (https)
+    private int maxConcurrentStreams = 100;                   // HTTP/2: streams multiplexados por conexión
+}
@@ -0,0 +1,20 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "customer.resilience")
+public class CustomerResilienceProperties {
+    private int slidingWindowSize = 50;                               // Últimas llamadas evaluadas por el circuit breaker
+    private int minimumNumberOfCalls = 20;                            // Llamadas antes de calcular tasas
+    private float failureRateThreshold = 50;                          // % de fallos que abre el circuito
+    private float slowCallRateThreshold = 80;                         // % de llamadas lentas que abre el circuito
+    private Duration slowCallDurationThreshold = Duration.ofSeconds(1); // Menor que el timeout: abre antes de acumular timeouts
+    private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+    private int permittedCallsInHalfOpenState = 5;
+}
@@ -0,0 +1,116 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import com.ettdata.account_service.infrastructure.entity.AccountEntity;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reescribe como Decimal128 los montos de accounts guardados como String (o double) antes de
+ * MongoConversionConfig. Recorre solo los documentos pendientes con un cursor y aplica
+ * bulkWrite por lotes de batch-size, de modo que la memoria no depende del tamaño de la colección.
+ * Es idempotente: un documento ya migrado deja de coincidir con el filtro, y cada actualización
+ * exige además el valor original, así que no pisa un saldo que cambió después de leerlo.
+ * Bloquea el arranque en la primera fase del ciclo de vida, antes del servidor web y de los
+ * listeners de Kafka: ningún movimiento se aplica sobre un saldo String.
+ * Un monto no numérico detiene el arranque (se registra el error) para corregirlo a mano.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class Decimal128MigrationRunner implements SmartLifecycle {
+
+    private static final List<String> MONEY_FIELDS = List.of("balance", "maintenanceFee", "minimumOpeningAmount");
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoMigrationProperties properties;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        if (properties.isEnabled()) {
+            log.info("🛠️ Migración de montos a Decimal128 iniciada: campos={}, lote={}",
+                    MONEY_FIELDS, properties.getBatchSize());
+            Long migrated = migrate()
+                    .doOnError(error -> log.error("❌ Migración a Decimal128 interrumpida: {}", error.getMessage(), error))
+                    .block(properties.getTimeout());
+            log.info("✅ Migración a Decimal128 completada: {} documentos actualizados", migrated);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * Devuelve el número de documentos modificados
+     */
+    public Mono<Long> migrate() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(AccountEntity.class))
+                .flatMap(this::migrate);
+    }
+
+    private Mono<Long> migrate(MongoCollection<Document> collection) {
+        Bson pending = Filters.or(MONEY_FIELDS.stream()
+                .map(field -> Filters.or(Filters.type(field, BsonType.STRING), Filters.type(field, BsonType.DOUBLE)))
+                .collect(Collectors.toList()));
+
+        return Flux.from(collection.find(pending)
+                        .projection(Projections.include(MONEY_FIELDS))
+                        .batchSize(properties.getBatchSize()))
+                .map(this::toUpdate)
+                .buffer(properties.getBatchSize())
+                .concatMap(batch -> Mono.from(collection.bulkWrite(batch, new BulkWriteOptions().ordered(false)))
+                        .map(result -> (long) result.getModifiedCount())
+                        .doOnNext(modified -> log.info("🛠️ Lote migrado a Decimal128: {} documentos", modified)))
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * El filtro incluye el valor leído de cada campo: si otra escritura lo cambió entretanto
+     * la actualización no coincide y el documento se migra en la siguiente ejecución
+     */
+    private WriteModel<Document> toUpdate(Document account) {
+        List<Bson> unchanged = new ArrayList<>(MONEY_FIELDS.size() + 1);
+        List<Bson> updates = new ArrayList<>(MONEY_FIELDS.size());
+        unchanged.add(Filters.eq("_id", account.get("_id")));
+        for (String field : MONEY_FIELDS) {
+            Object value = account.get(field);
+            if (MongoConversionConfig.isLegacyAmount(value)) {
+                unchanged.add(Filters.eq(field, value));
+                updates.add(Updates.set(field, MongoConversionConfig.fromLegacyAmount(value)));
+            }
+        }
+        return new UpdateOneModel<>(Filters.and(unchanged), Updates.combine(updates));
+    }
+}
@@ -0,0 +1,17 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "account.idempotency")
+public class IdempotencyProperties {
+    private long cacheMaxSize = 100_000;                  // Transacciones recientes en memoria
+    private Duration cacheTtl = Duration.ofMinutes(15);   // Ventana caliente en memoria
+    private Duration retention = Duration.ofDays(7);      // TTL del registro en Mongo
+    private int accountRecentTransactions = 50;           // transactionId aplicados que guarda cada cuenta (dedupe)
+}
@@ -35,6 +35,20 @@ public class KafkaConfig {
         return factory;
     }
 
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, AccountValidationRequest> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, AccountValidationRequest> consumerFactory) {
+
+        ConcurrentKafkaListenerContainerFactory<String, AccountValidationRequest> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        return factory;
+    }
+
     @Bean
     public ConsumerFactory<String, AccountValidationRequest> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -0,0 +1,19 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "kafka.consumer")
+public class KafkaConsumerProperties {
+    private String mode = "record";                       // record | batch | reactive
+    private int batchParallelism = 32;                    // Grupos (cuentas) procesados en paralelo por lote
+    private Duration batchRedeliveryBackoff = Duration.ofSeconds(1);
+    private int maxInFlightPerPartition = 16;             // Registros en proceso por partición (modo reactive)
+    private int maxDeferredCommits = 1000;                // Offsets confirmados fuera de orden pendientes de commit
+    private Duration commitInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,23 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "account.ledger")
+public class LedgerProperties {
+    private boolean snapshotEnabled = true;                 // Instantáneas periódicas de saldo por cuenta
+    private Duration snapshotInterval = Duration.ofHours(1);
+    private Duration snapshotLag = Duration.ofMinutes(1);   // Solo asientos más antiguos que esto (inserciones en vuelo)
+    private int snapshotConcurrency = 8;                    // Cuentas procesadas en paralelo por ciclo
+    private Duration pendingRecoveryInterval = Duration.ofMinutes(1);  // Asientos que quedaron en la cuenta (pendingLedger)
+    private Duration pendingRecoveryAge = Duration.ofMinutes(1);       // Solo asientos más antiguos que esto (en vuelo)
+    private int pendingRecoveryBatchSize = 100;             // Cuentas revisadas por ciclo
+    private boolean openingBackfillEnabled = true;          // Asiento OPENING para cuentas sin él, una vez al arrancar
+    private int openingBackfillConcurrency = 8;             // Cuentas procesadas en paralelo
+    private int openingBackfillAttempts = 3;                // Relecturas si la cuenta cambia durante el cálculo
+}
@@ -0,0 +1,69 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import com.ettdata.account_service.infrastructure.adapter.LedgerAdapter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+
+/**
+ * Mantiene el libro de movimientos completo:
+ * - cada pending-recovery-interval inserta en movements los asientos que quedaron guardados en la cuenta
+ *   (pendingLedger) porque la inserción tras el movimiento falló o el servicio cayó antes de hacerla
+ * - al arrancar, en segundo plano, registra el asiento OPENING de las cuentas que no lo tienen
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LedgerRecoveryScheduler {
+
+    private final LedgerAdapter ledger;
+    private final LedgerProperties properties;
+
+    private Disposable scheduler;
+    private Disposable backfill;
+
+    @PostConstruct
+    public void start() {
+        scheduler = Flux.interval(properties.getPendingRecoveryInterval(), properties.getPendingRecoveryInterval(),
+                        Schedulers.boundedElastic())
+                // Un ciclo lento no se solapa con el siguiente
+                .onBackpressureDrop()
+                .concatMap(tick -> ledger.recoverPending(Instant.now().minus(properties.getPendingRecoveryAge()),
+                                properties.getPendingRecoveryBatchSize())
+                        .filter(recovered -> recovered > 0)
+                        .doOnNext(recovered -> log.info("📒 Asientos pendientes insertados en el libro: {}", recovered))
+                        .onErrorResume(error -> {
+                            log.error("❌ Error insertando asientos pendientes: {}", error.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+        log.info("📒 Recuperación de asientos pendientes activa: interval={}, age={}",
+                properties.getPendingRecoveryInterval(), properties.getPendingRecoveryAge());
+
+        if (properties.isOpeningBackfillEnabled()) {
+            backfill = ledger.backfillOpenings(properties.getOpeningBackfillConcurrency(),
+                            properties.getOpeningBackfillAttempts())
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .subscribe(created -> log.info("📒 Asientos de apertura creados: {}", created),
+                            error -> log.error("❌ Error registrando asientos de apertura: {}", error.getMessage()));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+        if (backfill != null) {
+            backfill.dispose();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import org.bson.types.Decimal128;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Los BigDecimal se guardan como Decimal128 (por defecto Spring Data los guarda como String):
+ * balance, maintenanceFee y minimumOpeningAmount quedan numéricos en Mongo y admiten $inc,
+ * consultas por rango y agregaciones. Los documentos antiguos en String se siguen leyendo
+ * y se reescriben con Decimal128MigrationRunner (al arrancar) o AccountMovementWriter (al moverlos).
+ */
+@Configuration
+public class MongoConversionConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                BigDecimalToDecimal128Converter.INSTANCE,
+                Decimal128ToBigDecimalConverter.INSTANCE));
+    }
+
+    /**
+     * Monto heredado (String o double) como Decimal128. Un String no numérico lanza NumberFormatException
+     */
+    public static Decimal128 fromLegacyAmount(Object amount) {
+        return new Decimal128(amount instanceof Double
+                ? BigDecimal.valueOf((Double) amount)
+                : new BigDecimal(((String) amount).trim()));
+    }
+
+    public static boolean isLegacyAmount(Object amount) {
+        return amount instanceof String || amount instanceof Double;
+    }
+
+    @WritingConverter
+    enum BigDecimalToDecimal128Converter implements Converter<BigDecimal, Decimal128> {
+        INSTANCE;
+
+        @Override
+        public Decimal128 convert(BigDecimal source) {
+            return new Decimal128(source);
+        }
+    }
+
+    @ReadingConverter
+    enum Decimal128ToBigDecimalConverter implements Converter<Decimal128, BigDecimal> {
+        INSTANCE;
+
+        @Override
+        public BigDecimal convert(Decimal128 source) {
+            return source.bigDecimalValue();
+        }
+    }
+}
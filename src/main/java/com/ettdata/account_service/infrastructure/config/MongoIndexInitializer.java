@@ -0,0 +1,193 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import com.ettdata.account_service.infrastructure.entity.AccountEntity;
+import com.ettdata.account_service.infrastructure.entity.BalanceSnapshotEntity;
+import com.ettdata.account_service.infrastructure.entity.LedgerEntryEntity;
+import com.ettdata.account_service.infrastructure.entity.PendingTransferEntity;
+import com.ettdata.account_service.infrastructure.entity.ProcessedTransactionEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.Value;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Crea al arrancar los índices declarados en las entidades (cuentas, libro de movimientos,
+ * instantáneas de saldo, diario de transferencias y TTL de transacciones procesadas) y verifica con explain()
+ * que las consultas de los repositorios usan un índice: ni COLLSCAN ni ordenación en memoria (SORT).
+ * La creación de índices bloquea el arranque (hasta startup-timeout) en la primera fase del ciclo de vida,
+ * antes del servidor web y de los listeners de Kafka: el índice único de accountNumber, el de pendingLedger
+ * y el TTL de transacciones procesadas existen antes del primer movimiento.
+ * La verificación de planes solo bloquea en modo "fail" (el arranque se detiene si algún plan no usa índice);
+ * en "warn" se ejecuta en segundo plano.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexInitializer implements SmartLifecycle {
+
+    private static final String COLLSCAN = "COLLSCAN";
+    private static final String SORT = "SORT";                       // Ordenación en memoria: el índice no cubre el orden
+    private static final String SAMPLE = "_explain_";
+    private static final ObjectId SAMPLE_ID = new ObjectId();
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(AccountEntity.class, LedgerEntryEntity.class,
+            BalanceSnapshotEntity.class, PendingTransferEntity.class, ProcessedTransactionEntity.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final MongoIndexProperties properties;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        ensureIndexes().block(properties.getStartupTimeout());
+
+        if ("fail".equalsIgnoreCase(properties.getPlanCheck())) {
+            verifyQueryPlans().block(properties.getStartupTimeout());
+        } else {
+            verifyQueryPlans().subscribe(null, error -> log.warn("⚠️ Verificación de planes incompleta: {}", error.getMessage()));
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    private Mono<Void> ensureIndexes() {
+        if (!properties.isEnsureIndexes()) {
+            return Mono.empty();
+        }
+
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        return Flux.fromIterable(INDEXED_ENTITIES)
+                .concatMap(entity -> Flux.fromIterable(resolver.resolveIndexFor(entity))
+                        .concatMap(index -> mongoTemplate.indexOps(entity).ensureIndex(index))
+                        .doOnNext(name -> log.info("📇 Índice asegurado en {}: {}",
+                                mongoTemplate.getCollectionName(entity), name)))
+                .then();
+    }
+
+    private Mono<Void> verifyQueryPlans() {
+        if ("off".equalsIgnoreCase(properties.getPlanCheck())) {
+            return Mono.empty();
+        }
+
+        return Flux.fromIterable(repositoryQueries())
+                .concatMap(query -> explain(query)
+                        .doOnNext(plan -> checkPlan(query.getName(), plan)))
+                .then();
+    }
+
+    /**
+     * Filtro, orden y límite equivalentes a las consultas de los repositorios y del diario de transferencias
+     */
+    private List<RepositoryQuery> repositoryQueries() {
+        Document byId = new Document("_id", -1);
+        return List.of(
+                // AccountRepository
+                new RepositoryQuery("findByAccountNumber", AccountEntity.class,
+                        new Document("accountNumber", SAMPLE), null),
+                new RepositoryQuery("findByAccountNumberIn", AccountEntity.class,
+                        new Document("accountNumber", new Document("$in", List.of(SAMPLE, SAMPLE + "2"))), null),
+                new RepositoryQuery("findByCustomerId", AccountEntity.class,
+                        new Document("customerId", SAMPLE), null),
+                new RepositoryQuery("findByCustomerIdAndAccountType", AccountEntity.class,
+                        new Document("customerId", SAMPLE).append("accountType", "SAVINGS"), null),
+                new RepositoryQuery("findByIdGreaterThanOrderByIdAsc", AccountEntity.class,
+                        new Document("_id", new Document("$gt", SAMPLE_ID)), new Document("_id", 1)),
+                // LedgerAdapter (asientos pendientes en la cuenta y asiento de apertura)
+                new RepositoryQuery("recoverPending", AccountEntity.class,
+                        new Document("pendingLedger.timestamp", new Document("$lt", new Date())), null),
+                new RepositoryQuery("openingEntry", LedgerEntryEntity.class,
+                        new Document("transactionId", "OPENING-" + SAMPLE).append("accountNumber", SAMPLE)
+                                .append("type", "OPENING"), null),
+                // LedgerEntryRepository (findHistory)
+                new RepositoryQuery("findByAccountNumberOrderByIdDesc", LedgerEntryEntity.class,
+                        new Document("accountNumber", SAMPLE), byId),
+                new RepositoryQuery("findByAccountNumberAndIdLessThanOrderByIdDesc", LedgerEntryEntity.class,
+                        new Document("accountNumber", SAMPLE).append("_id", new Document("$lt", SAMPLE_ID)), byId),
+                // BalanceSnapshotRepository
+                new RepositoryQuery("findFirstByAccountNumberOrderByLastEntryIdDesc", BalanceSnapshotEntity.class,
+                        new Document("accountNumber", SAMPLE), new Document("lastEntryId", -1)),
+                // PendingTransferRepository (recuperación del diario)
+                new RepositoryQuery("findByCreatedAtLessThanOrderByCreatedAtAsc", PendingTransferEntity.class,
+                        new Document("createdAt", new Document("$lt", new Date())), new Document("createdAt", 1)));
+    }
+
+    private Mono<Document> explain(RepositoryQuery query) {
+        Document find = new Document("find", mongoTemplate.getCollectionName(query.getEntity()))
+                .append("filter", query.getFilter());
+        if (query.getSort() != null) {
+            find.append("sort", query.getSort()).append("limit", 100);
+        }
+        Document command = new Document("explain", find).append("verbosity", "queryPlanner");
+        return mongoTemplate.executeCommand(command);
+    }
+
+    private void checkPlan(String queryName, Document explain) {
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        Document winningPlan = queryPlanner == null ? null : queryPlanner.get("winningPlan", Document.class);
+
+        if (winningPlan == null || containsStage(winningPlan, COLLSCAN) || containsStage(winningPlan, SORT)) {
+            String message = String.format("La consulta %s no usa índice (plan: %s)", queryName,
+                    winningPlan == null ? "desconocido" : winningPlan.toJson());
+            if ("fail".equalsIgnoreCase(properties.getPlanCheck())) {
+                throw new IllegalStateException(message);
+            }
+            log.warn("⚠️ {}", message);
+            return;
+        }
+        log.info("✅ Consulta {} usa índice", queryName);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean containsStage(Document plan, String stage) {
+        if (stage.equals(plan.getString("stage"))) {
+            return true;
+        }
+        Object inputStage = plan.get("inputStage");
+        if (inputStage instanceof Document && containsStage((Document) inputStage, stage)) {
+            return true;
+        }
+        Object inputStages = plan.get("inputStages");
+        if (inputStages instanceof List) {
+            for (Object child : (List<Object>) inputStages) {
+                if (child instanceof Document && containsStage((Document) child, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Value
+    private static class RepositoryQuery {
+        String name;
+        Class<?> entity;
+        Document filter;
+        Document sort;                           // null = sin orden
+    }
+}
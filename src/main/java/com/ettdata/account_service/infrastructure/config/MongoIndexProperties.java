@@ -0,0 +1,16 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "account.mongo")
+public class MongoIndexProperties {
+    private boolean ensureIndexes = true;              // Crear los índices declarados al arrancar (bloqueante)
+    private String planCheck = "warn";                 // off | warn | fail
+    private Duration startupTimeout = Duration.ofSeconds(30);   // Espera máxima de los índices (y de los planes en modo fail)
+}
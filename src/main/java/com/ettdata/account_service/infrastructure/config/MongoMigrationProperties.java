@@ -0,0 +1,16 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "account.mongo.decimal128-migration")
+public class MongoMigrationProperties {
+    private boolean enabled = true;                    // Reescribir montos String/double como Decimal128 al arrancar
+    private int batchSize = 500;                       // Documentos por bulkWrite
+    private Duration timeout = Duration.ofMinutes(10); // Tiempo máximo que la migración retiene el arranque
+}
@@ -0,0 +1,27 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Transacciones multi-documento para account.transfer.mode=transaction.
+ * Requieren un replica set (basta uno de un solo nodo, ver docker-compose.yml)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "account.transfer", name = "mode", havingValue = "transaction")
+public class MongoTransactionConfig {
+
+    @Bean
+    public ReactiveMongoTransactionManager reactiveMongoTransactionManager(ReactiveMongoDatabaseFactory databaseFactory) {
+        return new ReactiveMongoTransactionManager(databaseFactory);
+    }
+
+    @Bean
+    public TransactionalOperator transferTransactionalOperator(ReactiveMongoTransactionManager transactionManager) {
+        return TransactionalOperator.create(transactionManager);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import com.ettdata.account_service.infrastructure.adapter.TransferEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+
+/**
+ * En account.transfer.mode=journal completa o revierte cada recovery-interval las transferencias
+ * del diario pending_transfers que una caída o un error dejaron a medias.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PendingTransferRecoveryScheduler {
+
+    private final TransferEngine transferEngine;
+    private final TransferProperties properties;
+
+    private Disposable scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (properties.getMode() != TransferProperties.Mode.JOURNAL) {
+            return;
+        }
+        scheduler = Flux.interval(properties.getRecoveryInterval(), properties.getRecoveryInterval(),
+                        Schedulers.boundedElastic())
+                // Un ciclo lento no se solapa con el siguiente
+                .onBackpressureDrop()
+                .concatMap(tick -> transferEngine.recoverJournal(Instant.now().minus(properties.getRecoveryAge()))
+                        .filter(recovered -> recovered > 0)
+                        .doOnNext(recovered -> log.info("♻️ Transferencias del diario resueltas: {}", recovered))
+                        .onErrorResume(error -> {
+                            log.error("❌ Error recuperando transferencias del diario: {}", error.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+        log.info("♻️ Recuperación del diario de transferencias activa: interval={}, age={}",
+                properties.getRecoveryInterval(), properties.getRecoveryAge());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+}
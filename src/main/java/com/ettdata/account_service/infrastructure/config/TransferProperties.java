@@ -0,0 +1,24 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "account.transfer")
+public class TransferProperties {
+    private Mode mode = Mode.JOURNAL;                       // Cómo se aplican juntos el cargo y el abono
+    private int transactionRetries = 3;                     // Reintentos ante TransientTransactionError (modo transaction)
+    private Duration recoveryInterval = Duration.ofSeconds(30);
+    private Duration recoveryAge = Duration.ofMinutes(1);   // Solo entradas del diario más antiguas que esto (en vuelo)
+    private int recoveryBatchSize = 100;                    // Entradas del diario revisadas por ciclo
+
+    public enum Mode {
+        COMPENSATING,   // Cargo y abono separados; si el abono falla se revierte el cargo en la misma llamada
+        TRANSACTION,    // Transacción multi-documento de Mongo (requiere replica set)
+        JOURNAL         // Diario pending_transfers con retenciones por cuenta y recuperación periódica (standalone)
+    }
+}
@@ -0,0 +1,17 @@
+package com.ettdata.account_service.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "account.write-coalescing")
+public class WriteCoalescingProperties {
+    private boolean enabled = false;                      // Agrupar saveOrUpdateAccount en bulkWrite
+    private Duration window = Duration.ofMillis(2);       // Espera máxima para completar un lote
+    private int maxBatchSize = 128;                       // Escrituras por bulkWrite
+    private int maxInFlightBatches = 4;                   // Lotes enviados a Mongo en paralelo
+}
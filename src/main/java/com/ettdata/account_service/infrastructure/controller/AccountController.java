@@ -1,11 +1,18 @@
 package com.ettdata.account_service.infrastructure.controller;
 
 import com.ettdata.account_service.application.port.in.AccountInputPort;
+import com.ettdata.account_service.domain.model.Account;
 import com.ettdata.account_service.domain.model.AccountListResponse;
 import com.ettdata.account_service.domain.model.AccountResponse;
+import com.ettdata.account_service.domain.model.LedgerHistoryResponse;
 import com.ettdata.account_service.infrastructure.model.AccountRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -13,17 +20,42 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class AccountController {
 
+  private static final int DEFAULT_PAGE_SIZE = 100;
+  private static final int MAX_PAGE_SIZE = 1000;
+
   private final AccountInputPort accountInputPort;
 
   public AccountController(AccountInputPort accountInputPort) {
     this.accountInputPort = accountInputPort;
   }
 
-  @GetMapping("/all")
-  Mono<AccountListResponse> getAllBankAccounts() {
-    return accountInputPort.findAllBankAccount()
-          .doOnSuccess(res -> log.info("Respuesta lista de cuentas bancarias: {}", res))
-          .doOnError(err -> log.error("Error al obtener lista de cuentas bancarias: {}", err.getMessage()));
+  @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
+  Mono<AccountListResponse> getAllBankAccounts(@RequestParam(required = false) String after,
+                                               @RequestParam(required = false) Integer limit) {
+    if (after == null && limit == null) {
+      return accountInputPort.findAllBankAccount()
+            .doOnSuccess(res -> log.info("Respuesta lista de cuentas bancarias: {} cuentas", res.getData().size()))
+            .doOnError(err -> log.error("Error al obtener lista de cuentas bancarias: {}", err.getMessage()));
+    }
+
+    // El cursor es el _id (ObjectId) de la última cuenta: uno inválido no coincide con nada y
+    // devolvería una página vacía, que el cliente tomaría por el final del listado
+    if (after != null && !ObjectId.isValid(after)) {
+      return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido: " + after));
+    }
+
+    int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    return accountInputPort.findBankAccountPage(after, pageSize)
+          .doOnSuccess(res -> log.info("Respuesta página de cuentas bancarias: {} cuentas, siguiente: {}",
+                res.getData().size(), res.getNextCursor()))
+          .doOnError(err -> log.error("Error al obtener página de cuentas bancarias: {}", err.getMessage()));
+  }
+
+  @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  Flux<Account> streamAllBankAccounts() {
+    return accountInputPort.streamAllBankAccount()
+          .doOnComplete(() -> log.info("Stream de cuentas bancarias completado"))
+          .doOnError(err -> log.error("Error en stream de cuentas bancarias: {}", err.getMessage()));
   }
 
   @GetMapping("/{id}")
@@ -38,6 +70,17 @@ public class AccountController {
           .doOnSuccess(res -> log.info("Respuesta cuenta bancaria por número de cuenta: {}", res));
   }
 
+  @GetMapping("/account/{numberAccount}/movements")
+  Mono<LedgerHistoryResponse> getMovementHistory(@PathVariable String numberAccount,
+                                                 @RequestParam(required = false) String before,
+                                                 @RequestParam(required = false) Integer limit) {
+    int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    return accountInputPort.findMovementHistory(numberAccount, before, pageSize)
+          .doOnSuccess(res -> log.info("Respuesta historial de movimientos: cuenta={}, {} asientos, siguiente: {}",
+                numberAccount, res.getData().size(), res.getNextCursor()))
+          .doOnError(err -> log.error("Error al obtener historial de movimientos: {}", err.getMessage()));
+  }
+
   @PostMapping("/save")
   Mono<AccountResponse> saveBankAccount(@RequestBody AccountRequest request) {
     return accountInputPort.createAccount(request)
@@ -7,29 +7,44 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Document(collection = "accounts")
+@CompoundIndexes({
+        @CompoundIndex(name = "customerId_accountType", def = "{'customerId': 1, 'accountType': 1}"),
+        @CompoundIndex(name = "pendingLedger_timestamp", def = "{'pendingLedger.timestamp': 1}", sparse = true)
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class AccountEntity {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String accountNumber;                // Unique account number
     private AccountType accountType;             // SAVINGS, CURRENT, FIXED_TERM
     private String customerId;                   // Reference to the customer
     private List<String> holders;                // For business accounts
     private List<String> authorizedSigners;      // Authorized signers
     private LocalDate openingDate;               // Date of creation
-    private BigDecimal balance;                  // Current balance
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal balance;                  // Current balance (numeric, required by $inc)
     private BigDecimal maintenanceFee;           // Monthly maintenance fee (if applicable)
-    private Integer cantMovements;               // Free transactions per month
+    private Map<String, Integer> movements;      // Movements per calendar month, keyed yyyyMM (MovementPeriod)
     private BigDecimal minimumOpeningAmount;     // Minimum amount to open the account
     private AccountStatus accountStatus;         // ACTIVE, INACTIVE, BLOCKED
+    private List<String> pendingTransfers;       // Journaled transfer legs holding this account (pending_transfers id + :out/:in)
+    private List<String> recentTransactions;     // Last applied transactionIds, bounded (movement dedupe)
+    private List<PendingLedgerEntry> pendingLedger; // Ledger entries of applied movements not yet in movements
 }
@@ -0,0 +1,28 @@
+package com.ettdata.account_service.infrastructure.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Document(collection = "balance_snapshots")
+@CompoundIndex(name = "accountNumber_lastEntryId", unique = true, def = "{'accountNumber': 1, 'lastEntryId': -1}")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSnapshotEntity {
+    @Id
+    private String id;                           // Control documents (snapshot-watermark, opening-backfill) have no accountNumber
+    private String accountNumber;
+    private BigDecimal balance;                  // Sum of all ledger entries up to lastEntryId
+    private ObjectId lastEntryId;                // Last movements _id included in the snapshot
+    private Instant takenAt;
+}
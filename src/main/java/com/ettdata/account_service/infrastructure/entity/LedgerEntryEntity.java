@@ -0,0 +1,35 @@
+package com.ettdata.account_service.infrastructure.entity;
+
+import com.ettdata.account_service.domain.model.LedgerEntryType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Document(collection = "movements")
+@CompoundIndexes({
+        @CompoundIndex(name = "accountNumber_id", def = "{'accountNumber': 1, '_id': -1}"),
+        @CompoundIndex(name = "transactionId_accountNumber_type", unique = true,
+                def = "{'transactionId': 1, 'accountNumber': 1, 'type': 1}")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntryEntity {
+    @Id
+    private String id;                           // ObjectId: orden de inserción, cursor del historial
+    private String transactionId;                // Kafka transactionId (reentregas no duplican el asiento)
+    private String accountNumber;
+    private LedgerEntryType type;
+    private BigDecimal amount;                   // Balance delta, Decimal128
+    private BigDecimal commission;
+    private Instant timestamp;
+}
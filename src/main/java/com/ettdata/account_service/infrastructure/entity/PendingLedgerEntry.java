@@ -0,0 +1,48 @@
+package com.ettdata.account_service.infrastructure.entity;
+
+import com.ettdata.account_service.domain.model.LedgerEntry;
+import com.ettdata.account_service.domain.model.LedgerEntryType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Ledger entry embedded in the account (pendingLedger) by the same update that changes the balance,
+ * removed once it is inserted in movements
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingLedgerEntry {
+    private String transactionId;
+    private LedgerEntryType type;
+    private BigDecimal amount;                   // Balance delta, Decimal128
+    private BigDecimal commission;
+    private Instant timestamp;                   // Recovery inserts entries older than pending-recovery-age
+
+    public static PendingLedgerEntry from(LedgerEntry entry) {
+        return PendingLedgerEntry.builder()
+                .transactionId(entry.getTransactionId())
+                .type(entry.getType())
+                .amount(entry.getAmount())
+                .commission(entry.getCommission())
+                .timestamp(entry.getTimestamp())
+                .build();
+    }
+
+    public LedgerEntry toLedgerEntry(String accountNumber) {
+        return LedgerEntry.builder()
+                .transactionId(transactionId)
+                .accountNumber(accountNumber)
+                .type(type)
+                .amount(amount)
+                .commission(commission)
+                .timestamp(timestamp)
+                .build();
+    }
+}
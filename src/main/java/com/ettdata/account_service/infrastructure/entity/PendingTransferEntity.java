@@ -0,0 +1,35 @@
+package com.ettdata.account_service.infrastructure.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "pending_transfers")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingTransferEntity {
+    @Id
+    private String id;                           // Transfer id (transactionId of the request)
+    private String sourceAccount;
+    private String targetAccount;
+    private long debitDelta;                     // Cents, negative (amount + commission)
+    private long creditDelta;                    // Cents, positive (amount)
+    private String debitPeriod;                  // yyyyMM counter incremented by the debit
+    private String creditPeriod;
+    private State state;                         // PENDING, COMMITTED
+    @Indexed
+    private Instant createdAt;                   // Recovery picks entries older than recovery-age
+
+    public enum State {
+        PENDING,                                 // Debit and credit may or may not be applied
+        COMMITTED                                // Both applied, only the holds remain to be released
+    }
+}
@@ -0,0 +1,27 @@
+package com.ettdata.account_service.infrastructure.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Document(collection = "processed_transactions")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessedTransactionEntity {
+    @Id
+    private String transactionId;                // Kafka transactionId
+    private String accountNumber;
+    private Integer codResponse;
+    private String messageResponse;
+    // TTL account.idempotency.retention; mismo nombre que el índice que creaban las versiones anteriores
+    @Indexed(name = "processedAt_1", expireAfter = "#{@idempotencyProperties.retention}")
+    private Instant processedAt;
+}
@@ -1,28 +1,57 @@
 package com.ettdata.account_service.infrastructure.kafka;
 
-import com.ettdata.account_service.application.port.in.TransactionValidationInput;
-import com.ettdata.account_service.application.port.out.AccountResponseOutputPort;
+import com.ettdata.account_service.infrastructure.config.KafkaConsumerProperties;
 import com.ettdata.avro.AccountValidationRequest;
-import com.ettdata.avro.AccountValidationResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AccountEventConsumer {
-    private final TransactionValidationInput validateWithdrawUseCase;
-    private final AccountResponseOutputPort responsePublisher;
+    static final String IN_FLIGHT_GAUGE = "account.consumer.in.flight";
+
+    private final AccountValidationDispatcher dispatcher;
+    private final KafkaConsumerProperties consumerProperties;
+    private final MeterRegistry meterRegistry;
+
+    // Mensajes despachados y aún sin respuesta, por listener
+    private final AtomicInteger recordInFlight = new AtomicInteger();
+    private final AtomicInteger batchInFlight = new AtomicInteger();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder(IN_FLIGHT_GAUGE, recordInFlight, AtomicInteger::get)
+                .tag("listener", "record")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_GAUGE, batchInFlight, AtomicInteger::get)
+                .tag("listener", "batch")
+                .register(meterRegistry);
+    }
 
     @KafkaListener(
+            id = "accountValidationRecordListener",
             topics = "${kafka.topics.account-validation-request}",
             groupId = "${spring.kafka.consumer.group-id}",
-            containerFactory = "manualAckKafkaListenerContainerFactory"
+            containerFactory = "manualAckKafkaListenerContainerFactory",
+            autoStartup = "#{'${kafka.consumer.mode:record}' == 'record'}"
     )
     public void consumeWithdrawEvent(AccountValidationRequest request, Acknowledgment ack) {
         String transactionId = String.valueOf(request.getTransactionId());
@@ -30,39 +59,106 @@ public class AccountEventConsumer {
         log.info("📨 Mensaje recibido: transactionId={}, account={}, amount={}, type={}",
                 transactionId, request.getAccountNumber(), request.getAmount(), request.getTransactionType());
 
-        // Seleccionar el flujo de validación según el tipo de transacción
-        Mono<AccountValidationResponse> validationFlow;
-
-        String transactionType = request.getTransactionType() == null ? "" : request.getTransactionType().toUpperCase();
-
-        switch (transactionType) {
-            case "WITHDRAWAL":
-                validationFlow = validateWithdrawUseCase.retiro(request);
-                break;
-            case "DEPOSIT":
-                validationFlow = validateWithdrawUseCase.deposito(request);
-                break;
-            case "TRANSFER":
-                validationFlow = validateWithdrawUseCase.transferencia(request);
-                break;
-            default:
-                log.warn("❗ Tipo de transacción desconocido: {}", request.getTransactionType());
-                validationFlow = Mono.just(com.ettdata.avro.AccountValidationResponse.newBuilder()
-                        .setTransactionId(request.getTransactionId())
-                        .setAccountNumber(request.getAccountNumber())
-                        .setCodResponse(400)
-                        .setMessageResponse("Tipo de transacción inválido")
-                        .build());
-        }
-
-        validationFlow
-                .flatMap(response -> responsePublisher.publishResponse(String.valueOf(request.getAccountNumber()), response))
+        recordInFlight.incrementAndGet();
+        dispatcher.process(request)
                 .doOnSuccess(resp -> log.info("✅ Procesamiento exitoso: transactionId={}", transactionId))
                 .doOnError(error -> log.error("❌ Error procesando: transactionId={}, error={}", transactionId, error.getMessage()))
                 .doFinally(signal -> {
+                    recordInFlight.decrementAndGet();
                     ack.acknowledge();
                     log.debug("✔️ ACK enviado: transactionId={}", transactionId);
                 })
                 .subscribe();
     }
-}
\ No newline at end of file
+
+    /**
+     * Modo lote: agrupa el poll por número de cuenta, procesa los grupos en paralelo
+     * y cada grupo en orden. Solo se confirma hasta el último registro contiguo completado;
+     * el resto del lote se vuelve a entregar.
+     */
+    @KafkaListener(
+            id = "accountValidationBatchListener",
+            topics = "${kafka.topics.account-validation-request}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "#{'${kafka.consumer.mode:record}' == 'batch'}"
+    )
+    public void consumeWithdrawBatch(List<ConsumerRecord<String, AccountValidationRequest>> records, Acknowledgment ack) {
+        log.info("📨 Lote recibido: {} mensajes", records.size());
+
+        AtomicIntegerArray completed = new AtomicIntegerArray(records.size());
+
+        Flux.fromIterable(groupByAccount(records))
+                .flatMap(indexes -> processGroup(records, indexes, completed), consumerProperties.getBatchParallelism())
+                .then()
+                .block();
+
+        int firstPending = firstPending(completed);
+        if (firstPending < 0) {
+            ack.acknowledge();
+            log.debug("✔️ ACK de lote enviado: {} mensajes", records.size());
+        } else {
+            log.warn("⚠️ Lote parcialmente procesado, se confirma hasta el índice {} de {}", firstPending, records.size());
+            ack.nack(firstPending, consumerProperties.getBatchRedeliveryBackoff());
+        }
+    }
+
+    /**
+     * Índices del lote agrupados por cuenta, conservando el orden de llegada dentro de cada grupo
+     */
+    private Iterable<List<Integer>> groupByAccount(List<ConsumerRecord<String, AccountValidationRequest>> records) {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            AccountValidationRequest request = records.get(i).value();
+            String key = request == null ? records.get(i).key() : String.valueOf(request.getAccountNumber());
+            groups.computeIfAbsent(String.valueOf(key), k -> new ArrayList<>()).add(i);
+        }
+        return groups.values();
+    }
+
+    /**
+     * Procesa en orden los registros de una cuenta; se detiene en el primer fallo
+     * para que los siguientes se vuelvan a entregar detrás de él.
+     */
+    private Mono<Void> processGroup(List<ConsumerRecord<String, AccountValidationRequest>> records,
+                                    List<Integer> indexes,
+                                    AtomicIntegerArray completed) {
+        return Flux.fromIterable(indexes)
+                .concatMap(index -> processRecord(records.get(index))
+                        .doOnNext(success -> {
+                            if (success) {
+                                completed.set(index, 1);
+                            }
+                        }))
+                .takeWhile(success -> success)
+                .then();
+    }
+
+    private Mono<Boolean> processRecord(ConsumerRecord<String, AccountValidationRequest> record) {
+        AccountValidationRequest request = record.value();
+        if (request == null) {
+            log.error("❌ Mensaje no deserializable descartado: partition={}, offset={}", record.partition(), record.offset());
+            return Mono.just(true);
+        }
+
+        String transactionId = String.valueOf(request.getTransactionId());
+        return dispatcher.process(request)
+                .doOnSubscribe(subscription -> batchInFlight.incrementAndGet())
+                .doFinally(signal -> batchInFlight.decrementAndGet())
+                .doOnSuccess(resp -> log.info("✅ Procesamiento exitoso: transactionId={}", transactionId))
+                .thenReturn(true)
+                .onErrorResume(error -> {
+                    log.error("❌ Error procesando: transactionId={}, error={}", transactionId, error.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    private int firstPending(AtomicIntegerArray completed) {
+        for (int i = 0; i < completed.length(); i++) {
+            if (completed.get(i) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ettdata.account_service.infrastructure.kafka;
+
+import com.ettdata.account_service.application.port.in.TransactionValidationInput;
+import com.ettdata.account_service.application.port.out.AccountResponseOutputPort;
+import com.ettdata.avro.AccountValidationRequest;
+import com.ettdata.avro.AccountValidationResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Selecciona el flujo de validación según el tipo de transacción y publica la respuesta.
+ * Compartido por los distintos modos de consumo de Kafka.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountValidationDispatcher {
+    private final TransactionValidationInput validateWithdrawUseCase;
+    private final AccountResponseOutputPort responsePublisher;
+
+    /**
+     * Valida la solicitud y publica la respuesta
+     * @param request solicitud de validación
+     * @return respuesta publicada
+     */
+    public Mono<AccountValidationResponse> process(AccountValidationRequest request) {
+        return validate(request)
+                .flatMap(response -> responsePublisher.publishResponse(String.valueOf(request.getAccountNumber()), response));
+    }
+
+    private Mono<AccountValidationResponse> validate(AccountValidationRequest request) {
+        String transactionType = request.getTransactionType() == null ? "" : request.getTransactionType().toUpperCase();
+
+        switch (transactionType) {
+            case "WITHDRAWAL":
+                return validateWithdrawUseCase.retiro(request);
+            case "DEPOSIT":
+                return validateWithdrawUseCase.deposito(request);
+            case "TRANSFER":
+                return validateWithdrawUseCase.transferencia(request);
+            default:
+                log.warn("❗ Tipo de transacción desconocido: {}", request.getTransactionType());
+                return Mono.just(AccountValidationResponse.newBuilder()
+                        .setTransactionId(request.getTransactionId())
+                        .setAccountNumber(request.getAccountNumber())
+                        .setCodResponse(400)
+                        .setMessageResponse("Tipo de transacción inválido")
+                        .build());
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.ettdata.account_service.infrastructure.kafka;
 import com.ettdata.account_service.application.port.out.AccountResponseOutputPort;
 import com.ettdata.account_service.infrastructure.config.KafkaTopicProperties;
 import com.ettdata.avro.AccountValidationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -15,27 +17,34 @@ import reactor.core.publisher.Mono;
 public class KafkaAccountResponsePublisher implements AccountResponseOutputPort {
     private final KafkaTemplate<String, AccountValidationResponse> kafkaTemplate;
     private final KafkaTopicProperties topicProperties;
+    private final MeterRegistry meterRegistry;
+
+    private static final String PUBLISH_TIMER = "account.kafka.publish";
 
     @Override
     public Mono<AccountValidationResponse> publishResponse(String accountNumber, AccountValidationResponse response) {
         log.debug("📤 Publicando respuesta: account={}, transactionId={}",
                 accountNumber, response.getTransactionId());
 
-        return Mono.create(sink ->
-                kafkaTemplate.send(topicProperties.getAccountValidationResponse(), accountNumber, response)
-                        .addCallback(
-                                result -> {
-                                    log.info("✅ Respuesta publicada: transactionId={}, status={}",
-                                            response.getTransactionId(),
-                                            response.getCodResponse());
-                                    sink.success(response);
-                                },
-                                ex -> {
-                                    log.error("❌ Error publicando respuesta: transactionId={}, error={}",
-                                            response.getTransactionId(), ex.getMessage(), ex);
-                                    sink.error(ex);
-                                }
-                        )
-        );
+        return Mono.create(sink -> {
+            // Se mide hasta el ack del broker (incluye el tiempo de espera en el batch del productor)
+            Timer.Sample sample = Timer.start(meterRegistry);
+            kafkaTemplate.send(topicProperties.getAccountValidationResponse(), accountNumber, response)
+                    .addCallback(
+                            result -> {
+                                sample.stop(meterRegistry.timer(PUBLISH_TIMER, "outcome", "success"));
+                                log.info("✅ Respuesta publicada: transactionId={}, status={}",
+                                        response.getTransactionId(),
+                                        response.getCodResponse());
+                                sink.success(response);
+                            },
+                            ex -> {
+                                sample.stop(meterRegistry.timer(PUBLISH_TIMER, "outcome", "failure"));
+                                log.error("❌ Error publicando respuesta: transactionId={}, error={}",
+                                        response.getTransactionId(), ex.getMessage(), ex);
+                                sink.error(ex);
+                            }
+                    );
+        });
     }
 }
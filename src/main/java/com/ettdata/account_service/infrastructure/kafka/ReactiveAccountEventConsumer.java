@@ -0,0 +1,107 @@
+package com.ettdata.account_service.infrastructure.kafka;
+
+import com.ettdata.account_service.infrastructure.config.KafkaConsumerProperties;
+import com.ettdata.account_service.infrastructure.config.KafkaTopicProperties;
+import com.ettdata.avro.AccountValidationRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Motor de consumo basado en un receptor reactivo de Kafka (kafka.consumer.mode=reactive).
+ * - Limita los registros en proceso por partición
+ * - Los offsets se confirman en orden aunque los acks lleguen desordenados
+ * - La demanda de Mongo y del productor se propaga hasta el poll() (se pausan las particiones)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "reactive")
+public class ReactiveAccountEventConsumer {
+    private final AccountValidationDispatcher dispatcher;
+    private final ConsumerFactory<String, AccountValidationRequest> consumerFactory;
+    private final KafkaTopicProperties topicProperties;
+    private final KafkaConsumerProperties consumerProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Gauge.builder(AccountEventConsumer.IN_FLIGHT_GAUGE, inFlight, AtomicInteger::get)
+                .tag("listener", "reactive")
+                .register(meterRegistry);
+
+        ReceiverOptions<String, AccountValidationRequest> options =
+                ReceiverOptions.<String, AccountValidationRequest>create(consumerFactory.getConfigurationProperties())
+                        .subscription(Collections.singleton(topicProperties.getAccountValidationRequest()))
+                        .commitInterval(consumerProperties.getCommitInterval())
+                        .maxDeferredCommits(consumerProperties.getMaxDeferredCommits())
+                        .addAssignListener(partitions -> log.info("📌 Particiones asignadas: {}", partitions))
+                        .addRevokeListener(partitions -> log.info("📌 Particiones revocadas: {}", partitions));
+
+        subscription = KafkaReceiver.create(options)
+                .receive()
+                .groupBy(record -> record.receiverOffset().topicPartition())
+                .flatMap(partition -> partition.flatMap(this::processRecord, consumerProperties.getMaxInFlightPerPartition()),
+                        Integer.MAX_VALUE)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.error("❌ Receptor Kafka detenido, reintentando: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+
+        log.info("▶️ Consumidor reactivo iniciado: topic={}, maxInFlightPerPartition={}",
+                topicProperties.getAccountValidationRequest(), consumerProperties.getMaxInFlightPerPartition());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Mono<Void> processRecord(ReceiverRecord<String, AccountValidationRequest> record) {
+        AccountValidationRequest request = record.value();
+        if (request == null) {
+            log.error("❌ Mensaje no deserializable descartado: partition={}, offset={}", record.partition(), record.offset());
+            record.receiverOffset().acknowledge();
+            return Mono.empty();
+        }
+
+        String transactionId = String.valueOf(request.getTransactionId());
+        log.info("📨 Mensaje recibido: transactionId={}, account={}, amount={}, type={}",
+                transactionId, request.getAccountNumber(), request.getAmount(), request.getTransactionType());
+
+        return dispatcher.process(request)
+                .doOnSubscribe(s -> inFlight.incrementAndGet())
+                .doFinally(signal -> inFlight.decrementAndGet())
+                .doOnSuccess(resp -> log.info("✅ Procesamiento exitoso: transactionId={}", transactionId))
+                .doOnError(error -> log.error("❌ Error procesando: transactionId={}, error={}", transactionId, error.getMessage()))
+                .onErrorResume(error -> Mono.empty())
+                .doOnTerminate(() -> {
+                    record.receiverOffset().acknowledge();
+                    log.debug("✔️ ACK registrado: transactionId={}", transactionId);
+                })
+                .then();
+    }
+}
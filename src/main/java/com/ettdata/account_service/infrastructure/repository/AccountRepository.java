@@ -2,15 +2,21 @@ package com.ettdata.account_service.infrastructure.repository;
 
 import com.ettdata.account_service.domain.model.AccountType;
 import com.ettdata.account_service.infrastructure.entity.AccountEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 @Repository
 public interface AccountRepository extends ReactiveMongoRepository<AccountEntity,String> {
 
     Flux<AccountEntity> findByCustomerId(String customerId);
     Flux<AccountEntity> findByCustomerIdAndAccountType(String customerId,AccountType accountType);
     Mono<AccountEntity> findByAccountNumber(String accountNumber);
+    Flux<AccountEntity> findByAccountNumberIn(Collection<String> accountNumbers);
+    Flux<AccountEntity> findAllByOrderByIdAsc(Pageable pageable);
+    Flux<AccountEntity> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
 }
@@ -0,0 +1,12 @@
+package com.ettdata.account_service.infrastructure.repository;
+
+import com.ettdata.account_service.infrastructure.entity.BalanceSnapshotEntity;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface BalanceSnapshotRepository extends ReactiveMongoRepository<BalanceSnapshotEntity, String> {
+
+    Mono<BalanceSnapshotEntity> findFirstByAccountNumberOrderByLastEntryIdDesc(String accountNumber);
+}
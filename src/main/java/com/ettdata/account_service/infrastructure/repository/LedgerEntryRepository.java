@@ -0,0 +1,14 @@
+package com.ettdata.account_service.infrastructure.repository;
+
+import com.ettdata.account_service.infrastructure.entity.LedgerEntryEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface LedgerEntryRepository extends ReactiveMongoRepository<LedgerEntryEntity, String> {
+
+    Flux<LedgerEntryEntity> findByAccountNumberOrderByIdDesc(String accountNumber, Pageable pageable);
+    Flux<LedgerEntryEntity> findByAccountNumberAndIdLessThanOrderByIdDesc(String accountNumber, String id, Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package com.ettdata.account_service.infrastructure.repository;
+
+import com.ettdata.account_service.infrastructure.entity.PendingTransferEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+@Repository
+public interface PendingTransferRepository extends ReactiveMongoRepository<PendingTransferEntity, String> {
+
+    Flux<PendingTransferEntity> findByCreatedAtLessThanOrderByCreatedAtAsc(Instant createdAt, Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.ettdata.account_service.infrastructure.repository;
+
+import com.ettdata.account_service.infrastructure.entity.ProcessedTransactionEntity;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProcessedTransactionRepository extends ReactiveMongoRepository<ProcessedTransactionEntity, String> {
+}
@@ -15,5 +15,8 @@ public class AccountConstants {
     public static final String CUSTOMER_DELETED = "Customer deleted successfully";
 
     public static final int HTTP_NOT_FOUND = 404;
+    public static final int HTTP_SERVICE_UNAVAILABLE = 503;
+
+    public static final String CUSTOMER_SERVICE_UNAVAILABLE = "Customer service unavailable, try again later";
 
 }
@@ -3,11 +3,13 @@ package com.ettdata.account_service.infrastructure.utils;
 import com.ettdata.account_service.domain.model.Account;
 import com.ettdata.account_service.domain.model.AccountStatus;
 import com.ettdata.account_service.domain.model.AccountType;
+import com.ettdata.account_service.domain.model.MovementPeriod;
 import com.ettdata.account_service.infrastructure.entity.AccountEntity;
 import com.ettdata.account_service.infrastructure.model.AccountRequest;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.UUID;
 
 
@@ -38,7 +40,8 @@ public class AccountMapper {
           .authorizedSigners(entity.getAuthorizedSigners())
           .openingDate(entity.getOpeningDate())
           .maintenanceFee(entity.getMaintenanceFee())
-          .cantMovements(entity.getCantMovements())
+          .cantMovements(MovementPeriod.countFor(entity.getMovements(), MovementPeriod.current()))
+          .movements(entity.getMovements())
           .minimumOpeningAmount(entity.getMinimumOpeningAmount())
           .build();
   }
@@ -65,7 +68,7 @@ public class AccountMapper {
           .authorizedSigners(domain.getAuthorizedSigners())
           .openingDate(domain.getOpeningDate())
           .maintenanceFee(domain.getMaintenanceFee())
-          .cantMovements(domain.getCantMovements())
+          .movements(domain.getMovements())
           .minimumOpeningAmount(domain.getMinimumOpeningAmount())
           .build();
   }
@@ -90,6 +93,7 @@ public class AccountMapper {
           .balance(request.getInitialBalance())
           .maintenanceFee(request.getMaintenanceFee())
           .cantMovements(0)
+          .movements(new HashMap<>())
           .minimumOpeningAmount(request.getMinimumOpeningAmount())
           .accountStatus(AccountStatus.ACTIVE)
           .build();
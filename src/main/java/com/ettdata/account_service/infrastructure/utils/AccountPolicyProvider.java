@@ -0,0 +1,233 @@
+package com.ettdata.account_service.infrastructure.utils;
+
+import com.ettdata.account_service.domain.model.AccountPolicy;
+import com.ettdata.account_service.domain.model.AccountRule;
+import com.ettdata.account_service.domain.model.AccountType;
+import com.ettdata.account_service.domain.model.CustomerType;
+import com.ettdata.account_service.domain.model.Money;
+import com.ettdata.account_service.infrastructure.config.AccountRulesProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Compila la política de cuentas (account.rules) en una tabla inmutable y la publica por
+ * referencia atómica: los validadores leen la instantánea vigente sin bloqueos.
+ * Si account.rules.location está definido, el archivo se revisa cada reload-interval y,
+ * cuando cambia, se compila y reemplaza la instantánea sin reiniciar. Un archivo inválido
+ * se registra y se ignora (se conserva la política anterior).
+ */
+@Slf4j
+@Component
+public class AccountPolicyProvider {
+
+    private static final String PREFIX = "account.rules";
+
+    private final AccountRulesProperties properties;
+    private final ConfigurableEnvironment environment;
+    private final ResourceLoader resourceLoader;
+    private final AtomicReference<AccountPolicy> policy;
+
+    private byte[] loadedContent;
+    private byte[] rejectedContent;   // Último contenido inválido: no se reintenta hasta que cambie
+    private Disposable reloader;
+
+    public AccountPolicyProvider(AccountRulesProperties properties) {
+        this(properties, new StandardEnvironment(), new DefaultResourceLoader());
+    }
+
+    @Autowired
+    public AccountPolicyProvider(AccountRulesProperties properties,
+                                 ConfigurableEnvironment environment,
+                                 ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.environment = environment;
+        this.resourceLoader = resourceLoader;
+        this.policy = new AtomicReference<>(compile(properties));
+        log.info("📋 Política de cuentas cargada: {} tipos de cuenta, {} tipos de cliente",
+                properties.getAccountTypes().size(), properties.getCustomerTypes().size());
+
+        if (properties.getLocation() != null) {
+            // Al arrancar un archivo inválido detiene el servicio en lugar de ignorarse
+            reload();
+        }
+    }
+
+    public AccountPolicy current() {
+        return policy.get();
+    }
+
+    @PostConstruct
+    public void startReloading() {
+        if (properties.getLocation() == null) {
+            return;
+        }
+        reloader = Flux.interval(properties.getReloadInterval(), Schedulers.boundedElastic())
+                .subscribe(tick -> {
+                    try {
+                        reload();
+                    } catch (RuntimeException e) {
+                        log.error("❌ Política de cuentas inválida en {}, se conserva la anterior: {}",
+                                properties.getLocation(), e.getMessage());
+                    }
+                });
+        log.info("🔁 Recarga de política de cuentas activa: location={}, interval={}",
+                properties.getLocation(), properties.getReloadInterval());
+    }
+
+    @PreDestroy
+    public void stopReloading() {
+        if (reloader != null) {
+            reloader.dispose();
+        }
+    }
+
+    /**
+     * Vuelve a leer account.rules.location y publica una nueva instantánea si el contenido cambió.
+     * Devuelve true si la política se reemplazó.
+     */
+    public synchronized boolean reload() {
+        Resource resource = resourceLoader.getResource(properties.getLocation());
+        if (!resource.exists()) {
+            log.warn("⚠️ Archivo de política no encontrado: {}", properties.getLocation());
+            return false;
+        }
+
+        byte[] content = read(resource);
+        if (Arrays.equals(content, loadedContent) || Arrays.equals(content, rejectedContent)) {
+            return false;
+        }
+
+        AccountPolicy next;
+        try {
+            next = compile(bind(content));
+        } catch (RuntimeException e) {
+            rejectedContent = content;
+            throw e;
+        }
+        policy.set(next);
+        loadedContent = content;
+        log.info("📋 Política de cuentas recargada desde {}", properties.getLocation());
+        return true;
+    }
+
+    /**
+     * El archivo tiene prioridad sobre la configuración de la aplicación (account.rules en application.yml)
+     */
+    private AccountRulesProperties bind(byte[] content) {
+        MutablePropertySources sources = new MutablePropertySources(environment.getPropertySources());
+        try {
+            List<PropertySource<?>> fileSources = new YamlPropertySourceLoader()
+                    .load(properties.getLocation(), new ByteArrayResource(content));
+            for (int i = fileSources.size() - 1; i >= 0; i--) {
+                sources.addFirst(fileSources.get(i));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot parse account rules from " + properties.getLocation(), e);
+        }
+
+        return new Binder(ConfigurationPropertySources.from(sources))
+                .bind(PREFIX, Bindable.ofInstance(new AccountRulesProperties()))
+                .orElseGet(AccountRulesProperties::new);
+    }
+
+    private byte[] read(Resource resource) {
+        try (InputStream input = resource.getInputStream()) {
+            return StreamUtils.copyToByteArray(input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read account rules from " + properties.getLocation(), e);
+        }
+    }
+
+    /**
+     * Resuelve las reglas base y los ajustes por tipo de cliente en una tabla inmutable.
+     * Lanza IllegalStateException si falta un tipo de cuenta/cliente o un valor obligatorio.
+     */
+    public static AccountPolicy compile(AccountRulesProperties properties) {
+        for (AccountType accountType : AccountType.values()) {
+            if (!properties.getAccountTypes().containsKey(accountType)) {
+                throw new IllegalStateException("Missing account rule for " + accountType + " (account.rules.account-types)");
+            }
+        }
+        for (CustomerType customerType : CustomerType.values()) {
+            if (!properties.getCustomerTypes().containsKey(customerType)) {
+                throw new IllegalStateException("Missing customer rules for " + customerType + " (account.rules.customer-types)");
+            }
+        }
+
+        Map<AccountType, AccountRule> accountRules = new EnumMap<>(AccountType.class);
+        properties.getAccountTypes().forEach((accountType, rule) ->
+                accountRules.put(accountType, baseRule(accountType, rule)));
+
+        Map<CustomerType, Map<AccountType, AccountRule>> customerRules = new EnumMap<>(CustomerType.class);
+        properties.getCustomerTypes().forEach((customerType, customer) -> {
+            Map<AccountType, AccountRule> rules = new EnumMap<>(AccountType.class);
+            accountRules.forEach((accountType, base) -> rules.put(accountType, override(base,
+                    customer.getAllowed().contains(accountType),
+                    customer.getOverrides().get(accountType))));
+            customerRules.put(customerType, rules);
+        });
+
+        return new AccountPolicy(accountRules, customerRules);
+    }
+
+    private static AccountRule baseRule(AccountType accountType, AccountRulesProperties.Rule rule) {
+        if (rule.getFreeMovements() == null || rule.getCommission() == null || rule.getMaintenanceFee() == null) {
+            throw new IllegalStateException("Incomplete account rule for " + accountType
+                    + ": free-movements, commission and maintenance-fee are required");
+        }
+        return AccountRule.builder()
+                .allowed(false)
+                .maxMovements(rule.getMaxMovements() != null ? rule.getMaxMovements() : AccountRule.UNLIMITED)
+                .freeMovements(rule.getFreeMovements())
+                .commission(Money.fromDecimal(rule.getCommission()))
+                .maintenanceFee(rule.getMaintenanceFee())
+                .build();
+    }
+
+    private static AccountRule override(AccountRule base, boolean allowed, AccountRulesProperties.Rule rule) {
+        AccountRule.AccountRuleBuilder builder = base.toBuilder().allowed(allowed);
+        if (rule == null) {
+            return builder.build();
+        }
+        if (rule.getMaxMovements() != null) {
+            builder.maxMovements(rule.getMaxMovements());
+        }
+        if (rule.getFreeMovements() != null) {
+            builder.freeMovements(rule.getFreeMovements());
+        }
+        if (rule.getCommission() != null) {
+            builder.commission(Money.fromDecimal(rule.getCommission()));
+        }
+        if (rule.getMaintenanceFee() != null) {
+            builder.maintenanceFee(rule.getMaintenanceFee());
+        }
+        return builder.build();
+    }
+}
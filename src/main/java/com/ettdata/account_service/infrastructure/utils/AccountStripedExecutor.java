@@ -0,0 +1,167 @@
+package com.ettdata.account_service.infrastructure.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecutor serial por cuenta: cada número de cuenta se asigna por hash a uno de N carriles.
+ * Las tareas de un mismo carril se ejecutan una detrás de otra (sin bloquear hilos);
+ * las de carriles distintos corren en paralelo.
+ */
+@Component
+@Slf4j
+public class AccountStripedExecutor {
+
+  private final Lane[] lanes;
+  private final int mask;
+
+  public AccountStripedExecutor(@Value("${account.validation.stripes:256}") int stripes) {
+    int size = stripes <= 1 ? 1 : Integer.highestOneBit((stripes - 1) << 1);
+    this.lanes = new Lane[size];
+    this.mask = size - 1;
+    for (int i = 0; i < size; i++) {
+      lanes[i] = new Lane();
+    }
+    log.info("Striped executor initialized with {} lanes", size);
+  }
+
+  /**
+   * Ejecuta la tarea en el carril de la cuenta, después de las tareas ya encoladas en él
+   */
+  public <T> Mono<T> execute(String accountNumber, Supplier<Mono<T>> task) {
+    return execute(lanes[indexFor(accountNumber)], task);
+  }
+
+  /**
+   * Ejecuta la tarea reteniendo los carriles de ambas cuentas.
+   * Los carriles se toman siempre en orden ascendente para evitar ciclos de espera.
+   */
+  public <T> Mono<T> execute(String accountNumber, String otherAccountNumber, Supplier<Mono<T>> task) {
+    int first = indexFor(accountNumber);
+    int second = indexFor(otherAccountNumber);
+
+    if (first == second) {
+      return execute(lanes[first], task);
+    }
+    Lane lower = lanes[Math.min(first, second)];
+    Lane upper = lanes[Math.max(first, second)];
+    return execute(lower, () -> execute(upper, task));
+  }
+
+  private int indexFor(String accountNumber) {
+    int h = accountNumber == null ? 0 : accountNumber.hashCode();
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private <T> Mono<T> execute(Lane lane, Supplier<Mono<T>> task) {
+    return Mono.create(sink -> lane.submit(new SerialTask<>(lane, task, sink)));
+  }
+
+  // ==================== CARRIL ====================
+
+  /**
+   * Cola sin bloqueo con a lo sumo una tarea activa (patrón work-in-progress).
+   * Una tarea que termina de forma síncrona no anida la siguiente en la pila: el bucle de drenado la retoma.
+   */
+  private static final class Lane {
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean busy;
+
+    void submit(Runnable task) {
+      queue.offer(task);
+      drain();
+    }
+
+    void release() {
+      busy = false;
+      drain();
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      for (;;) {
+        if (!busy) {
+          Runnable next = queue.poll();
+          if (next != null) {
+            busy = true;
+            next.run();
+          }
+        }
+        missed = wip.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Tarea encolada: se suscribe al Mono cuando le toca el turno y libera el carril al terminar,
+   * fallar o cancelarse (incluida la cancelación antes de empezar)
+   */
+  private static final class SerialTask<T> implements Runnable {
+    private final Lane lane;
+    private final Supplier<Mono<T>> task;
+    private final MonoSink<T> sink;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile Disposable running;
+
+    SerialTask(Lane lane, Supplier<Mono<T>> task, MonoSink<T> sink) {
+      this.lane = lane;
+      this.task = task;
+      this.sink = sink;
+      sink.onCancel(() -> {
+        cancelled = true;
+        Disposable current = running;
+        if (current != null) {
+          current.dispose();
+        }
+      });
+    }
+
+    @Override
+    public void run() {
+      if (cancelled) {
+        releaseLane();
+        return;
+      }
+
+      Mono<T> mono;
+      try {
+        mono = task.get();
+      } catch (Throwable error) {
+        releaseLane();
+        sink.error(error);
+        return;
+      }
+
+      running = mono
+            .doFinally(signal -> releaseLane())
+            .subscribe(sink::success, sink::error, sink::success);
+      if (cancelled) {
+        running.dispose();
+      }
+    }
+
+    private void releaseLane() {
+      if (released.compareAndSet(false, true)) {
+        lane.release();
+      }
+    }
+  }
+}
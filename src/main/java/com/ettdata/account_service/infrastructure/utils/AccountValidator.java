@@ -1,196 +1,161 @@
 package com.ettdata.account_service.infrastructure.utils;
 
 import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountRule;
 import com.ettdata.account_service.domain.model.AccountType;
+import com.ettdata.account_service.domain.model.CustomerType;
+import com.ettdata.account_service.domain.model.Money;
+import com.ettdata.account_service.domain.model.ValidationRejection;
+import com.ettdata.account_service.domain.model.ValidationResult;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 /**
- * Componente validador para reglas de negocio de cuentas según Proyecto Bancario
+ * Componente validador para reglas de negocio de cuentas según Proyecto Bancario.
+ * Límites, movimientos gratuitos, comisiones y tipos permitidos salen de la tabla de reglas (account.rules).
  */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class AccountValidator {
 
-  // Límites de movimientos mensuales según tipo de cuenta (Proyecto I)
-  private static final int SAVINGS_MAX_MOVEMENTS = 10;           // Ahorro: máximo 10 movimientos/mes
-  private static final int FIXED_TERM_MAX_MOVEMENTS = 1;         // Plazo fijo: 1 solo movimiento/mes
-  // CURRENT (Corriente): SIN LÍMITE de movimientos
-
-  // Comisiones (Proyecto II)
-  private static final int SAVINGS_MAX_FREE_MOVEMENTS = 10;      // Primeros 10 gratis
-  private static final int CURRENT_MAX_FREE_MOVEMENTS = 20;      // Primeros 20 gratis
-  private static final BigDecimal SAVINGS_MOVEMENT_COMMISSION = new BigDecimal("2.00");
-  private static final BigDecimal CURRENT_MOVEMENT_COMMISSION = new BigDecimal("1.50");
+  private final AccountPolicyProvider policyProvider;
 
   // ==================== VALIDACIONES DE APERTURA ====================
 
   /**
    * Valida el saldo mínimo de apertura (Proyecto II)
    */
-  public Mono<Void> validateMinimumBalance(BigDecimal initialBalance, BigDecimal minimumRequired) {
+  public ValidationResult validateMinimumBalance(BigDecimal initialBalance, BigDecimal minimumRequired) {
     if (initialBalance.compareTo(minimumRequired) < 0) {
       log.warn("Initial balance ({}) is less than minimum required ({})",
             initialBalance, minimumRequired);
-      return Mono.error(new IllegalArgumentException(
-            "Saldo inicial insuficiente. Mínimo requerido: " + minimumRequired));
+      return ValidationResult.rejected(ValidationRejection.MINIMUM_OPENING_BALANCE,
+            "Saldo inicial insuficiente. Mínimo requerido: " + minimumRequired);
     }
-    return Mono.empty();
+    return ValidationResult.valid();
   }
 
   /**
    * Valida si el tipo de cuenta está permitido para el tipo de cliente (Proyecto I)
+   * - PERSONAL: ahorro, corriente o plazo fijo
+   * - BUSINESS y PYME: solo corriente
+   * - VIP: ahorro o corriente
    */
-  public Mono<Void> validateAccountType(String customerType, String accountType) {
-    if (!isAccountTypeAllowed(customerType, accountType)) {
+  public ValidationResult validateAccountType(CustomerType customerType, AccountType accountType) {
+    if (!policyProvider.current().isAllowed(customerType, accountType)) {
       log.warn("Account type '{}' not allowed for customer type '{}'",
             accountType, customerType);
-      return Mono.error(new IllegalArgumentException(
-            AccountConstants.ACCOUNT_TYPE_NOT_ALLOWED));
+      return ValidationResult.rejected(ValidationRejection.ACCOUNT_TYPE_NOT_ALLOWED,
+            AccountConstants.ACCOUNT_TYPE_NOT_ALLOWED);
     }
-    return Mono.empty();
+    return ValidationResult.valid();
   }
 
   /**
    * Valida el límite de cuentas para clientes PERSONALES (Proyecto I)
    * - Solo puede tener 1 cuenta de ahorro, 1 corriente o cuentas a plazo fijo
    */
-  public Mono<Void> validatePersonalAccountLimit(String customerType,
-                                                 List<Account> existingAccounts,
-                                                 String requestedAccountType) {
-    if (!"PERSONAL".equalsIgnoreCase(customerType)) {
-      return Mono.empty();
+  public ValidationResult validatePersonalAccountLimit(CustomerType customerType,
+                                                       List<Account> existingAccounts,
+                                                       AccountType requestedAccountType) {
+    if (customerType != CustomerType.PERSONAL) {
+      return ValidationResult.valid();
     }
 
     boolean hasAccountOfType = existingAccounts.stream()
-          .anyMatch(acc -> acc.getAccountType().name()
-                .equalsIgnoreCase(requestedAccountType));
+          .anyMatch(acc -> acc.getAccountType() == requestedAccountType);
 
-    if (hasAccountOfType && !"FIXED_TERM".equalsIgnoreCase(requestedAccountType)) {
+    if (hasAccountOfType && requestedAccountType != AccountType.FIXED_TERM) {
       log.warn("PERSONAL customer already has an account of type '{}'",
             requestedAccountType);
-      return Mono.error(new IllegalStateException(
-            AccountConstants.ACCOUNT_ALREADY_EXISTS));
+      return ValidationResult.rejected(ValidationRejection.ACCOUNT_ALREADY_EXISTS,
+            AccountConstants.ACCOUNT_ALREADY_EXISTS);
     }
 
-    return Mono.empty();
-  }
-
-  /**
-   * Valida que clientes EMPRESARIALES no tengan cuentas de ahorro o plazo fijo (Proyecto I)
-   */
-  public Mono<Void> validateBusinessAccountRestrictions(String customerType, String accountType) {
-    if ("BUSINESS".equalsIgnoreCase(customerType)
-          && ("SAVINGS".equalsIgnoreCase(accountType) || "FIXED_TERM".equalsIgnoreCase(accountType))) {
-      log.warn("Business customer cannot have SAVINGS or FIXED_TERM accounts");
-      return Mono.error(new IllegalArgumentException(
-            "Clientes empresariales no pueden tener cuentas de ahorro o plazo fijo"));
-    }
-    return Mono.empty();
+    return ValidationResult.valid();
   }
 
   /**
    * Registra validaciones adicionales para clientes VIP y PYME
    */
-  public void logSpecialCustomerRequirements(String customerType, String accountType) {
-    if ("VIP".equalsIgnoreCase(customerType)
-          && "SAVINGS".equalsIgnoreCase(accountType)) {
+  public void logSpecialCustomerRequirements(CustomerType customerType, AccountType accountType) {
+    if (customerType == CustomerType.VIP && accountType == AccountType.SAVINGS) {
       log.info("VIP customer requesting savings account - validate credit card requirement");
     }
 
-    if ("PYME".equalsIgnoreCase(customerType)
-          && "CURRENT".equalsIgnoreCase(accountType)) {
+    if (customerType == CustomerType.PYME && accountType == AccountType.CURRENT) {
       log.info("PYME customer requesting current account - validate commission-free benefit");
     }
   }
 
   // ==================== VALIDACIONES DE MOVIMIENTOS (Proyecto I y II) ====================
 
+  /**
+   * Regla vigente del tipo de cuenta. La política puede recargarse en caliente: quien encadena
+   * varias validaciones de un mismo movimiento debe obtener la regla una vez y reutilizarla.
+   */
+  public AccountRule ruleFor(Account account) {
+    return policyProvider.current().rule(account.getAccountType());
+  }
+
   /**
    * Valida límite ABSOLUTO de movimientos mensuales (Proyecto I)
    * - SAVINGS: máximo 10 movimientos al mes (BLOQUEA después del límite)
    * - CURRENT: SIN LÍMITE de movimientos
    * - FIXED_TERM: solo 1 movimiento al mes (BLOQUEA después del límite)
    */
-  public Mono<Void> validateMovementLimit(Account account) {
+  public ValidationResult validateMovementLimit(Account account) {
+    return validateMovementLimit(account, ruleFor(account));
+  }
+
+  public ValidationResult validateMovementLimit(Account account, AccountRule rule) {
     AccountType type = account.getAccountType();
-    Integer currentMovements = account.getCantMovements() != null ? account.getCantMovements() : 0;
-
-    switch (type) {
-      case SAVINGS:
-        if (currentMovements >= SAVINGS_MAX_MOVEMENTS) {
-          log.warn("❌ SAVINGS account reached maximum movements: {}/{}",
-                currentMovements, SAVINGS_MAX_MOVEMENTS);
-          return Mono.error(new IllegalStateException(
-                String.format("Cuenta de ahorro alcanzó el límite máximo de %d movimientos mensuales",
-                      SAVINGS_MAX_MOVEMENTS)));
-        }
-        log.info("✅ SAVINGS account movements: {}/{}", currentMovements, SAVINGS_MAX_MOVEMENTS);
-        break;
-
-      case CURRENT:
-        // ✅ Cuenta corriente NO tiene límite de movimientos
-        log.info("✅ CURRENT account has no movement limit (movements: {})", currentMovements);
-        break;
-
-      case FIXED_TERM:
-        if (currentMovements >= FIXED_TERM_MAX_MOVEMENTS) {
-          log.warn("❌ FIXED_TERM account already has {} movement this month", currentMovements);
-          return Mono.error(new IllegalStateException(
-                "Cuenta a plazo fijo ya realizó su único movimiento mensual permitido"));
-        }
-        log.info("✅ FIXED_TERM account movements: {}/{}", currentMovements, FIXED_TERM_MAX_MOVEMENTS);
-        break;
-
-      default:
-        log.warn("Unknown account type: {}", type);
-        break;
+    int currentMovements = account.getCantMovements() != null ? account.getCantMovements() : 0;
+
+    if (!rule.hasMovementLimit()) {
+      log.info("✅ {} account has no movement limit (movements: {})", type, currentMovements);
+      return ValidationResult.valid();
     }
 
-    return Mono.empty();
+    if (currentMovements >= rule.getMaxMovements()) {
+      log.warn("❌ {} account reached maximum movements: {}/{}", type, currentMovements, rule.getMaxMovements());
+      return ValidationResult.rejected(ValidationRejection.MOVEMENT_LIMIT_REACHED,
+            movementLimitMessage(type, rule.getMaxMovements()));
+    }
+
+    log.info("✅ {} account movements: {}/{}", type, currentMovements, rule.getMaxMovements());
+    return ValidationResult.valid();
   }
 
   /**
    * Calcula la comisión por movimiento adicional (Proyecto II)
-   * Aplica cuando se superan los movimientos gratuitos
+   * Aplica cuando se superan los movimientos gratuitos y el límite mensual aún lo permite
+   * (SAVINGS se bloquea al agotar sus movimientos gratuitos, por eso no llega a cobrar).
+   * Devuelve la comisión en céntimos (Money)
    */
-  public BigDecimal calculateMovementCommission(Account account) {
+  public long calculateMovementCommission(Account account) {
+    return calculateMovementCommission(account, ruleFor(account));
+  }
+
+  public long calculateMovementCommission(Account account, AccountRule rule) {
     AccountType type = account.getAccountType();
-    Integer currentMovements = account.getCantMovements() != null ? account.getCantMovements() : 0;
-
-    switch (type) {
-      case SAVINGS:
-        // Después de 10 movimientos, NO aplica comisión porque ya se bloqueó
-        // Esta comisión se aplicaría si se permitieran movimientos adicionales
-        log.debug("SAVINGS account has no commission (blocked at limit)");
-        return BigDecimal.ZERO;
-
-      case CURRENT:
-        // Cuenta corriente cobra comisión después de 20 movimientos gratuitos
-        if (currentMovements >= CURRENT_MAX_FREE_MOVEMENTS) {
-          log.info("💰 Applying CURRENT commission of {} for movement #{}",
-                CURRENT_MOVEMENT_COMMISSION, currentMovements + 1);
-          return CURRENT_MOVEMENT_COMMISSION;
-        }
-        log.info("✅ CURRENT account still has free movements: {}/{}",
-              currentMovements, CURRENT_MAX_FREE_MOVEMENTS);
-        break;
-
-      case FIXED_TERM:
-        // Plazo fijo no tiene comisión por movimiento
-        log.debug("FIXED_TERM account has no movement commission");
-        break;
-
-      default:
-        log.warn("Unknown account type for commission calculation: {}", type);
-        break;
+    int currentMovements = account.getCantMovements() != null ? account.getCantMovements() : 0;
+
+    if (currentMovements >= rule.getFreeMovements() && currentMovements < rule.getMaxMovements()
+          && rule.getCommission() > 0) {
+      log.info("💰 Applying {} commission of {} for movement #{}",
+            type, Money.format(rule.getCommission()), currentMovements + 1);
+      return rule.getCommission();
     }
 
-    return BigDecimal.ZERO;
+    log.debug("✅ {} account without movement commission: {}/{} free movements",
+          type, currentMovements, rule.getFreeMovements());
+    return 0L;
   }
 
   /**
@@ -199,50 +164,54 @@ public class AccountValidator {
    * - CURRENT: con comisión (excepto PYME que es sin comisión)
    * - FIXED_TERM: libre de comisión
    */
-  public boolean hasMaintenanceFee(String customerType, AccountType accountType) {
-    if (accountType == AccountType.CURRENT) {
-      if ("PYME".equalsIgnoreCase(customerType)) {
-        log.info("PYME current account has no maintenance fee");
-        return false;
-      }
-      log.info("Regular current account has maintenance fee");
-      return true;
-    }
-
-    log.info("Account type {} has no maintenance fee", accountType);
-    return false;
+  public boolean hasMaintenanceFee(CustomerType customerType, AccountType accountType) {
+    AccountRule rule = customerType != null
+          ? policyProvider.current().rule(customerType, accountType)
+          : policyProvider.current().rule(accountType);
+
+    log.info("Account type {} for customer type {} has maintenance fee: {}",
+          accountType, customerType, rule.isMaintenanceFee());
+    return rule.isMaintenanceFee();
   }
 
   /**
    * Obtiene el número máximo de movimientos según tipo de cuenta
    */
   public int getMaxMovements(AccountType accountType) {
-    switch (accountType) {
-      case SAVINGS:
-        return SAVINGS_MAX_MOVEMENTS;
-      case CURRENT:
-        return Integer.MAX_VALUE; // Sin límite
-      case FIXED_TERM:
-        return FIXED_TERM_MAX_MOVEMENTS;
-      default:
-        return 0;
-    }
+    return policyProvider.current().rule(accountType).getMaxMovements();
   }
 
   /**
    * Obtiene el número máximo de movimientos gratuitos (para comisiones)
    */
   public int getMaxFreeMovements(AccountType accountType) {
-    switch (accountType) {
-      case SAVINGS:
-        return SAVINGS_MAX_FREE_MOVEMENTS;
-      case CURRENT:
-        return CURRENT_MAX_FREE_MOVEMENTS;
-      case FIXED_TERM:
-        return FIXED_TERM_MAX_MOVEMENTS;
-      default:
-        return 0;
+    return policyProvider.current().rule(accountType).getFreeMovements();
+  }
+
+  /**
+   * Límite inferior (inclusivo) del rango de movimientos en el que sigue siendo válida
+   * la comisión calculada con el estado actual de la cuenta
+   */
+  public int getMovementFloor(Account account, AccountRule rule) {
+    int currentMovements = account.getCantMovements() != null ? account.getCantMovements() : 0;
+
+    if (rule.getFreeMovements() < rule.getMaxMovements() && currentMovements >= rule.getFreeMovements()) {
+      return rule.getFreeMovements();
     }
+    return 0;
+  }
+
+  /**
+   * Límite superior (exclusivo) del rango de movimientos: el límite mensual del tipo de cuenta,
+   * o el fin de los movimientos gratuitos si la comisión calculada fue cero
+   */
+  public int getMovementCeiling(Account account, AccountRule rule) {
+    int currentMovements = account.getCantMovements() != null ? account.getCantMovements() : 0;
+
+    if (rule.getFreeMovements() < rule.getMaxMovements() && currentMovements < rule.getFreeMovements()) {
+      return rule.getFreeMovements();
+    }
+    return rule.getMaxMovements();
   }
 
   /**
@@ -250,61 +219,41 @@ public class AccountValidator {
    */
   public boolean canMakeMovements(Account account) {
     int currentMovements = account.getCantMovements() != null ? account.getCantMovements() : 0;
-    int maxMovements = getMaxMovements(account.getAccountType());
 
-    return currentMovements < maxMovements;
+    return currentMovements < getMaxMovements(account.getAccountType());
   }
 
   /**
    * Obtiene información del estado de movimientos
    */
   public String getMovementStatus(Account account) {
+    AccountRule rule = policyProvider.current().rule(account.getAccountType());
     int currentMovements = account.getCantMovements() != null ? account.getCantMovements() : 0;
-    int maxMovements = getMaxMovements(account.getAccountType());
-    int maxFreeMovements = getMaxFreeMovements(account.getAccountType());
 
-    if (account.getAccountType() == AccountType.CURRENT) {
-      if (currentMovements < maxFreeMovements) {
+    if (!rule.hasMovementLimit()) {
+      if (currentMovements < rule.getFreeMovements()) {
         return String.format("Movimientos gratuitos disponibles: %d/%d",
-              currentMovements, maxFreeMovements);
+              currentMovements, rule.getFreeMovements());
       } else {
         return String.format("Movimiento con comisión (movimientos: %d)", currentMovements);
       }
     } else {
-      return String.format("Movimientos: %d/%d", currentMovements, maxMovements);
+      return String.format("Movimientos: %d/%d", currentMovements, rule.getMaxMovements());
     }
   }
 
   // ==================== MÉTODOS PRIVADOS ====================
 
   /**
-   * Determina si un tipo de cuenta está permitido para un tipo de cliente
+   * Motivo del rechazo por límite de movimientos (solo se construye en el camino de rechazo)
    */
-  private boolean isAccountTypeAllowed(String customerType, String accountType) {
-    if (customerType == null || accountType == null) {
-      log.warn("Null parameters in account type validation");
-      return false;
+  private String movementLimitMessage(AccountType type, int maxMovements) {
+    if (type == AccountType.FIXED_TERM && maxMovements == 1) {
+      return "Cuenta a plazo fijo ya realizó su único movimiento mensual permitido";
     }
-
-    String ct = customerType.toUpperCase();
-    String at = accountType.toUpperCase();
-
-    switch (ct) {
-      case "PERSONAL":
-        return at.equals("SAVINGS") || at.equals("CURRENT") || at.equals("FIXED_TERM");
-
-      case "BUSINESS":
-        return at.equals("CURRENT");
-
-      case "PYME":
-        return at.equals("CURRENT");
-
-      case "VIP":
-        return at.equals("SAVINGS") || at.equals("CURRENT");
-
-      default:
-        log.warn("Unknown customer type: {}", customerType);
-        return false;
+    if (type == AccountType.SAVINGS) {
+      return String.format("Cuenta de ahorro alcanzó el límite máximo de %d movimientos mensuales", maxMovements);
     }
+    return String.format("La cuenta alcanzó el límite máximo de %d movimientos mensuales", maxMovements);
   }
-}
\ No newline at end of file
+}
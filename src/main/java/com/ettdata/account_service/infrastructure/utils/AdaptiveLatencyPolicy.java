@@ -0,0 +1,135 @@
+package com.ettdata.account_service.infrastructure.utils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timeout y retraso de hedging derivados de las latencias recientes de un servicio remoto.
+ * Las latencias se registran en un Timer con percentiles publicados y expiración = window,
+ * que Micrometer mantiene como un histograma deslizante (y que también se exporta).
+ * Una llamada cortada por timeout se registra con el timeout aplicado (muestra censurada: tardó al
+ * menos eso), de modo que si el servicio se vuelve más lento el percentil, y con él el timeout, crece.
+ * - timeout = percentil de timeout x multiplicador, acotado a [minTimeout, maxTimeout]
+ * - hedgeDelay = percentil de hedging, acotado a [minHedgeDelay, timeout)
+ * Hasta reunir minSamples (o tras una ventana sin llamadas) se usa maxTimeout y no hay hedging.
+ * Los percentiles se recalculan como mucho una vez por segundo.
+ */
+public class AdaptiveLatencyPolicy {
+
+  private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final Timer latencies;
+  private final long minSamples;
+  private final double timeoutPercentile;
+  private final double timeoutMultiplier;
+  private final double hedgePercentile;
+  private final Duration minTimeout;
+  private final Duration maxTimeout;
+  private final Duration minHedgeDelay;
+
+  private volatile long refreshedAt;
+  private volatile Limits limits;
+
+  public AdaptiveLatencyPolicy(MeterRegistry registry, String name, Duration window, long minSamples,
+                               double timeoutPercentile, double timeoutMultiplier, Duration minTimeout,
+                               Duration maxTimeout, double hedgePercentile, Duration minHedgeDelay) {
+    this.latencies = Timer.builder(name)
+          .publishPercentiles(timeoutPercentile, hedgePercentile)
+          .distributionStatisticExpiry(window)
+          .distributionStatisticBufferLength(3)
+          .register(registry);
+    this.minSamples = minSamples;
+    this.timeoutPercentile = timeoutPercentile;
+    this.timeoutMultiplier = timeoutMultiplier;
+    this.hedgePercentile = hedgePercentile;
+    this.minTimeout = minTimeout;
+    this.maxTimeout = maxTimeout;
+    this.minHedgeDelay = minHedgeDelay;
+    this.limits = new Limits(maxTimeout, null);
+    // La primera consulta calcula los límites (nanoTime puede ser negativo)
+    this.refreshedAt = System.nanoTime() - REFRESH_NANOS - 1;
+
+    Gauge.builder(name + ".timeout", this, policy -> policy.timeout().toMillis())
+          .baseUnit("milliseconds")
+          .description("Timeout adaptativo vigente")
+          .register(registry);
+  }
+
+  /**
+   * Latencia de una llamada completada (con o sin resultado)
+   */
+  public void record(long nanos) {
+    latencies.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Llamada cortada por timeout. Sin esta muestra, con el servicio lento el histograma solo vería las
+   * llamadas rápidas: el percentil no subiría y todas las llamadas seguirían agotando el mismo timeout
+   */
+  public void recordTimeout(Duration timeout) {
+    latencies.record(timeout);
+  }
+
+  public Duration timeout() {
+    return current().timeout;
+  }
+
+  public Optional<Duration> hedgeDelay() {
+    return Optional.ofNullable(current().hedgeDelay);
+  }
+
+  private Limits current() {
+    long now = System.nanoTime();
+    if (now - refreshedAt > REFRESH_NANOS) {
+      refreshedAt = now;
+      limits = compute(latencies.takeSnapshot());
+    }
+    return limits;
+  }
+
+  private Limits compute(HistogramSnapshot snapshot) {
+    double timeoutNanos = 0;
+    double hedgeNanos = 0;
+    for (ValueAtPercentile value : snapshot.percentileValues()) {
+      if (value.percentile() == timeoutPercentile) {
+        timeoutNanos = value.value(TimeUnit.NANOSECONDS);
+      }
+      if (value.percentile() == hedgePercentile) {
+        hedgeNanos = value.value(TimeUnit.NANOSECONDS);
+      }
+    }
+
+    // Percentil 0: la ventana está vacía (sin llamadas recientes)
+    if (snapshot.count() < minSamples || timeoutNanos <= 0) {
+      return new Limits(maxTimeout, null);
+    }
+
+    Duration timeout = clamp(Duration.ofNanos((long) (timeoutNanos * timeoutMultiplier)), minTimeout, maxTimeout);
+    Duration hedgeDelay = clamp(Duration.ofNanos((long) hedgeNanos), minHedgeDelay, timeout);
+    return new Limits(timeout, hedgeDelay.compareTo(timeout) < 0 ? hedgeDelay : null);
+  }
+
+  private static Duration clamp(Duration value, Duration min, Duration max) {
+    if (value.compareTo(min) < 0) {
+      return min;
+    }
+    return value.compareTo(max) > 0 ? max : value;
+  }
+
+  private static final class Limits {
+    private final Duration timeout;
+    private final Duration hedgeDelay;     // null = sin hedging
+
+    Limits(Duration timeout, Duration hedgeDelay) {
+      this.timeout = timeout;
+      this.hedgeDelay = hedgeDelay;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.ettdata.account_service.infrastructure.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Registra las métricas de una caché Caffeine (cache.gets, cache.evictions, cache.size...)
+ * y su tasa de aciertos. La caché debe construirse con recordStats().
+ */
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+    }
+
+    public static void monitor(MeterRegistry registry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .description("Aciertos / consultas desde el arranque")
+                .register(registry);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ettdata.account_service.infrastructure.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket que limita los reintentos (y solicitudes adelantadas) a una fracción del tráfico:
+ * cada llamada exitosa deposita ratio fichas, el tiempo repone perSecond fichas por segundo
+ * y cada reintento gasta una. Si el servicio cae, los reintentos se agotan en lugar de multiplicar la carga.
+ */
+public class RetryBudget {
+
+  private final double ratio;
+  private final double perNano;
+  private final double maxTokens;
+
+  private double tokens;
+  private long refilledAt;
+
+  public RetryBudget(double ratio, double perSecond, double maxTokens) {
+    this.ratio = ratio;
+    this.perNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+    this.maxTokens = maxTokens;
+    this.tokens = maxTokens;
+    this.refilledAt = System.nanoTime();
+  }
+
+  public synchronized void deposit() {
+    refill();
+    tokens = Math.min(maxTokens, tokens + ratio);
+  }
+
+  /**
+   * Gasta una ficha si hay disponible
+   */
+  public synchronized boolean tryWithdraw() {
+    refill();
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+
+  public synchronized double available() {
+    refill();
+    return tokens;
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    tokens = Math.min(maxTokens, tokens + (now - refilledAt) * perNano);
+    refilledAt = now;
+  }
+}
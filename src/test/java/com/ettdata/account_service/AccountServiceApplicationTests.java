@@ -3,7 +3,11 @@ package com.ettdata.account_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// La migración a Decimal128 y la creación de índices bloquean el arranque contra Mongo; el contexto se verifica sin él
+@SpringBootTest(properties = {
+		"account.mongo.decimal128-migration.enabled=false",
+		"account.mongo.ensure-indexes=false"
+})
 class AccountServiceApplicationTests {
 
 	@Test
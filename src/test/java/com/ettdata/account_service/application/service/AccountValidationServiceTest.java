@@ -0,0 +1,64 @@
+package com.ettdata.account_service.application.service;
+
+import com.ettdata.account_service.application.port.out.AccountRepositoryOutputPort;
+import com.ettdata.account_service.application.port.out.MovementLedgerOutputPort;
+import com.ettdata.account_service.application.port.out.TransactionIdempotencyOutputPort;
+import com.ettdata.account_service.infrastructure.utils.AccountStripedExecutor;
+import com.ettdata.account_service.infrastructure.utils.AccountValidator;
+import com.ettdata.avro.AccountValidationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AccountValidationServiceTest {
+
+  private static final String ACCOUNT = "1001";
+
+  @Mock
+  private AccountRepositoryOutputPort accountRepository;
+  @Mock
+  private AccountValidator accountValidator;
+  @Mock
+  private TransactionIdempotencyOutputPort idempotencyStore;
+  @Mock
+  private MovementLedgerOutputPort ledger;
+
+  private AccountValidationService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new AccountValidationService(accountRepository, accountValidator, new AccountStripedExecutor(16),
+          idempotencyStore, ledger, new SimpleMeterRegistry());
+  }
+
+  // ==================== TRANSFERENCIA ====================
+
+  @Test
+  void transferToSameAccountIsRejectedWithoutTouchingBalanceOrLedger() {
+    AccountValidationRequest request = AccountValidationRequest.newBuilder()
+          .setTransactionId("tx-1")
+          .setAccountNumber(ACCOUNT)
+          .setTargetAccountNumber(ACCOUNT)
+          .setTransactionType("TRANSFERENCIA")
+          .setAmountMinor(5000L)
+          .build();
+
+    StepVerifier.create(service.transferencia(request))
+          .assertNext(response -> {
+            assertThat(response.getCodResponse()).isEqualTo(400);
+            assertThat(response.getTransactionId()).isEqualTo("tx-1");
+          })
+          .verifyComplete();
+
+    // Ni lectura ni movimiento sobre la cuenta, ni asiento en el libro, ni respuesta registrada
+    verifyNoInteractions(accountRepository, ledger, idempotencyStore);
+  }
+}
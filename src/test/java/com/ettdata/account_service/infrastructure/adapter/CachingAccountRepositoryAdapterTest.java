@@ -0,0 +1,75 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.application.port.out.AccountRepositoryOutputPort;
+import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountMovement;
+import com.ettdata.account_service.domain.model.MovementRejection;
+import com.ettdata.account_service.domain.model.MovementResult;
+import com.ettdata.account_service.infrastructure.config.AccountCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAccountRepositoryAdapterTest {
+
+  private static final String ACCOUNT = "1001";
+
+  @Mock
+  private AccountRepositoryOutputPort delegate;
+
+  private CachingAccountRepositoryAdapter adapter;
+
+  @BeforeEach
+  void setUp() {
+    adapter = new CachingAccountRepositoryAdapter(delegate, new AccountCacheProperties());
+  }
+
+  @Test
+  void readAfterInvalidationRepopulatesEntry() {
+    AccountMovement movement = AccountMovement.builder().accountNumber(ACCOUNT).balanceDelta(-100).build();
+    when(delegate.applyMovement(movement))
+          .thenReturn(Mono.just(MovementResult.rejected(MovementRejection.ACCOUNT_NOT_FOUND, null)));
+    when(delegate.findByNumberAccount(ACCOUNT)).thenReturn(Mono.just(account("100")));
+
+    StepVerifier.create(adapter.applyMovement(movement)).expectNextCount(1).verifyComplete();
+    StepVerifier.create(adapter.findByNumberAccount(ACCOUNT)).expectNextCount(1).verifyComplete();
+    StepVerifier.create(adapter.findByNumberAccount(ACCOUNT)).expectNextCount(1).verifyComplete();
+
+    // La lectura posterior a la marca de invalidación la reemplaza: la segunda sale de la caché
+    verify(delegate, times(1)).findByNumberAccount(ACCOUNT);
+  }
+
+  @Test
+  void readStartedBeforeWriteDoesNotOverwriteIt() {
+    Account stale = account("100");
+    Account written = account("50");
+    when(delegate.findByNumberAccount(ACCOUNT)).thenReturn(Mono.just(stale));
+    when(delegate.saveOrUpdateAccount(written)).thenReturn(Mono.just(written));
+
+    // La lectura toma su sello al invocarse y termina después de la escritura
+    Mono<Account> slowRead = adapter.findByNumberAccount(ACCOUNT);
+    StepVerifier.create(adapter.saveOrUpdateAccount(written)).expectNext(written).verifyComplete();
+    StepVerifier.create(slowRead).expectNext(stale).verifyComplete();
+
+    StepVerifier.create(adapter.findByNumberAccount(ACCOUNT)).expectNext(written).verifyComplete();
+  }
+
+  private Account account(String balance) {
+    return Account.builder()
+          .id("a1")
+          .accountNumber(ACCOUNT)
+          .balance(new BigDecimal(balance))
+          .build();
+  }
+}
@@ -0,0 +1,166 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.application.port.out.AccountRepositoryOutputPort;
+import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.infrastructure.config.WriteCoalescingProperties;
+import com.ettdata.account_service.infrastructure.entity.AccountEntity;
+import com.ettdata.account_service.infrastructure.utils.AccountMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingAccountRepositoryAdapterTest {
+
+  private static final String COLLECTION = "accounts";
+
+  @Mock
+  private AccountRepositoryOutputPort delegate;
+  @Mock
+  private ReactiveMongoTemplate mongoTemplate;
+  @Mock
+  private MongoCollection<Document> collection;
+  @Captor
+  private ArgumentCaptor<List<WriteModel<Document>>> models;
+
+  private final WriteCoalescingProperties properties = new WriteCoalescingProperties();
+  private CoalescingAccountRepositoryAdapter adapter;
+
+  @BeforeEach
+  void setUp() {
+    MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+    when(mongoTemplate.getConverter()).thenReturn(converter);
+    when(mongoTemplate.getCollectionName(AccountEntity.class)).thenReturn(COLLECTION);
+    when(mongoTemplate.getCollection(COLLECTION)).thenReturn(Mono.just(collection));
+    // El lote se cierra por tamaño, nunca por la ventana
+    properties.setWindow(Duration.ofMinutes(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    adapter.close();
+  }
+
+  @Test
+  void lastWriteOfSameAccountWinsWithinBatch() {
+    givenAdapter(3);
+    doReturn(Mono.just(BulkWriteResult.unacknowledged()))
+          .when(collection).bulkWrite(anyList(), any(BulkWriteOptions.class));
+
+    StepVerifier.create(Mono.zip(
+                adapter.saveOrUpdateAccount(account("a1", "100")),
+                adapter.saveOrUpdateAccount(account("a1", "200")),
+                adapter.saveOrUpdateAccount(account("b1", "50"))))
+          .assertNext(saved -> {
+            assertThat(saved.getT1().getBalance()).isEqualByComparingTo("200");
+            assertThat(saved.getT2().getBalance()).isEqualByComparingTo("200");
+            assertThat(saved.getT3().getBalance()).isEqualByComparingTo("50");
+          })
+          .verifyComplete();
+
+    verify(collection).bulkWrite(models.capture(), any(BulkWriteOptions.class));
+    assertThat(models.getValue()).hasSize(2);
+    assertThat(replacement(0).get("_id")).isEqualTo("a1");
+    assertThat(replacement(0).get("balance").toString()).isEqualTo("200");
+    assertThat(replacement(1).get("_id")).isEqualTo("b1");
+  }
+
+  @Test
+  void writeErrorFailsOnlyItsAccount() {
+    givenAdapter(4);
+    BulkWriteError duplicate = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1);
+    doReturn(Mono.error(new MongoBulkWriteException(BulkWriteResult.unacknowledged(), List.of(duplicate), null,
+          new ServerAddress())))
+          .when(collection).bulkWrite(anyList(), any(BulkWriteOptions.class));
+
+    Mono<Account> first = adapter.saveOrUpdateAccount(account("a1", "100")).cache();
+    Mono<Account> second = adapter.saveOrUpdateAccount(account("a1", "200")).cache();
+    Mono<Account> rejected = adapter.saveOrUpdateAccount(account("b1", "50")).cache();
+    Mono<Account> other = adapter.saveOrUpdateAccount(account("c1", "75")).cache();
+    StepVerifier.create(Mono.when(first, second, rejected.onErrorResume(error -> Mono.empty()), other))
+          .verifyComplete();
+
+    // El error 1 es la operación de b1: a1 ocupa un solo índice aunque tenga dos escrituras
+    StepVerifier.create(first.map(Account::getBalance)).expectNext(new BigDecimal("200")).verifyComplete();
+    StepVerifier.create(second.map(Account::getBalance)).expectNext(new BigDecimal("200")).verifyComplete();
+    StepVerifier.create(rejected).expectError(DuplicateKeyException.class).verify();
+    StepVerifier.create(other.map(Account::getBalance)).expectNext(new BigDecimal("75")).verifyComplete();
+    verify(collection, times(1)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+  }
+
+  @Test
+  void errorWithoutWriteDetailsFailsWholeBatch() {
+    givenAdapter(2);
+    MongoSocketReadException failure = new MongoSocketReadException("reset", new ServerAddress());
+    doReturn(Mono.error(failure)).when(collection).bulkWrite(anyList(), any(BulkWriteOptions.class));
+
+    Mono<Account> first = adapter.saveOrUpdateAccount(account("a1", "100")).cache();
+    Mono<Account> second = adapter.saveOrUpdateAccount(account("b1", "50")).cache();
+    StepVerifier.create(Mono.when(first.onErrorResume(error -> Mono.empty()),
+                second.onErrorResume(error -> Mono.empty())))
+          .verifyComplete();
+
+    StepVerifier.create(first).expectErrorMatches(error -> error == failure).verify();
+    StepVerifier.create(second).expectErrorMatches(error -> error == failure).verify();
+  }
+
+  private void givenAdapter(int maxBatchSize) {
+    properties.setMaxBatchSize(maxBatchSize);
+    adapter = new CoalescingAccountRepositoryAdapter(delegate, new AccountMapper(), mongoTemplate, properties,
+          new SimpleMeterRegistry());
+  }
+
+  private Document replacement(int index) {
+    return ((ReplaceOneModel<Document>) models.getValue().get(index)).getReplacement();
+  }
+
+  private Account account(String id, String balance) {
+    return Account.builder()
+          .id(id)
+          .accountNumber("N-" + id)
+          .balance(new BigDecimal(balance))
+          .build();
+  }
+}
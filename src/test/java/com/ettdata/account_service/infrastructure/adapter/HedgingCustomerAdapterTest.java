@@ -0,0 +1,104 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.application.port.out.CustomerOutputPort;
+import com.ettdata.account_service.domain.error.CustomerServiceUnavailableException;
+import com.ettdata.account_service.domain.model.CustomerResponse;
+import com.ettdata.account_service.infrastructure.config.CustomerAdaptiveProperties;
+import com.ettdata.account_service.infrastructure.utils.AdaptiveLatencyPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HedgingCustomerAdapterTest {
+
+  private static final String DOCUMENT = "12345678";
+  private static final Duration HEDGE_DELAY = Duration.ofMillis(50);
+
+  @Mock
+  private CustomerOutputPort delegate;
+  @Mock
+  private AdaptiveLatencyPolicy latencyPolicy;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private HedgingCustomerAdapter adapter;
+
+  @BeforeEach
+  void setUp() {
+    CustomerAdaptiveProperties properties = new CustomerAdaptiveProperties();
+    properties.setHedgeEnabled(true);
+    properties.setMaxRetries(0);
+    when(latencyPolicy.hedgeDelay()).thenReturn(Optional.of(HEDGE_DELAY));
+    adapter = new HedgingCustomerAdapter(delegate, latencyPolicy, properties, meterRegistry);
+  }
+
+  @Test
+  void hedgeWinsAndSlowOriginalIsCancelled() {
+    AtomicBoolean originalCancelled = new AtomicBoolean();
+    CustomerResponse customer = customer("hedge");
+    when(delegate.getCustomerByDocument(DOCUMENT))
+          .thenReturn(Mono.<CustomerResponse>never().doOnCancel(() -> originalCancelled.set(true)))
+          .thenReturn(Mono.just(customer));
+
+    StepVerifier.withVirtualTime(() -> adapter.getCustomerByDocument(DOCUMENT))
+          .expectSubscription()
+          .thenAwait(HEDGE_DELAY)
+          .expectNext(customer)
+          .verifyComplete();
+
+    assertThat(originalCancelled).isTrue();
+    assertThat(meterRegistry.counter("customer.client.hedges").count()).isEqualTo(1);
+  }
+
+  @Test
+  void hedgeErrorIsIgnoredAndOriginalWins() {
+    CustomerResponse customer = customer("original");
+    when(delegate.getCustomerByDocument(DOCUMENT))
+          .thenReturn(Mono.just(customer).delayElement(Duration.ofMillis(200)))
+          .thenReturn(Mono.error(new CustomerServiceUnavailableException("caído")));
+
+    StepVerifier.withVirtualTime(() -> adapter.getCustomerByDocument(DOCUMENT))
+          .expectSubscription()
+          .thenAwait(HEDGE_DELAY)
+          .expectNoEvent(Duration.ofMillis(100))
+          .thenAwait(Duration.ofMillis(50))
+          .expectNext(customer)
+          .verifyComplete();
+
+    verify(delegate, times(2)).getCustomerByDocument(DOCUMENT);
+  }
+
+  @Test
+  void fastOriginalSendsNoHedge() {
+    CustomerResponse customer = customer("original");
+    when(delegate.getCustomerByDocument(DOCUMENT)).thenReturn(Mono.just(customer));
+
+    StepVerifier.withVirtualTime(() -> adapter.getCustomerByDocument(DOCUMENT))
+          .expectNext(customer)
+          .verifyComplete();
+
+    verify(delegate, times(1)).getCustomerByDocument(DOCUMENT);
+    assertThat(meterRegistry.counter("customer.client.hedges").count()).isZero();
+  }
+
+  private CustomerResponse customer(String id) {
+    CustomerResponse customer = new CustomerResponse();
+    customer.setId(id);
+    customer.setDocumentNumber(DOCUMENT);
+    return customer;
+  }
+}
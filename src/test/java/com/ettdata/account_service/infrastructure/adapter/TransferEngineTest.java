@@ -0,0 +1,207 @@
+package com.ettdata.account_service.infrastructure.adapter;
+
+import com.ettdata.account_service.domain.model.Account;
+import com.ettdata.account_service.domain.model.AccountMovement;
+import com.ettdata.account_service.domain.model.AccountTransfer;
+import com.ettdata.account_service.domain.model.MovementRejection;
+import com.ettdata.account_service.domain.model.MovementResult;
+import com.ettdata.account_service.infrastructure.config.TransferProperties;
+import com.ettdata.account_service.infrastructure.entity.PendingTransferEntity;
+import com.ettdata.account_service.infrastructure.repository.PendingTransferRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferEngineTest {
+
+  private static final String TRANSFER_ID = "tx-1";
+  private static final String SOURCE = "1001";
+  private static final String TARGET = "2002";
+  private static final String DEBIT_ID = AccountTransfer.debitTransactionId(TRANSFER_ID);
+  private static final String CREDIT_ID = AccountTransfer.creditTransactionId(TRANSFER_ID);
+
+  @Mock
+  private AccountMovementWriter movementWriter;
+  @Mock
+  private PendingTransferRepository journalRepository;
+  @Mock
+  private ReactiveMongoTemplate mongoTemplate;
+  @Mock
+  private ObjectProvider<TransactionalOperator> operatorProvider;
+  @Mock
+  private TransactionalOperator operator;
+
+  private TransferProperties properties;
+  private TransferEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    properties = new TransferProperties();
+    engine = new TransferEngine(movementWriter, journalRepository, mongoTemplate, operatorProvider, properties);
+  }
+
+  // ==================== RECUPERACIÓN DEL DIARIO ====================
+
+  @Test
+  void recoverCompletesCreditOfHeldDebit() {
+    givenJournal(journal(PendingTransferEntity.State.PENDING));
+    when(movementWriter.isHeld(SOURCE, DEBIT_ID)).thenReturn(Mono.just(true));
+    when(movementWriter.apply(any(AccountMovement.class))).thenReturn(Mono.just(MovementResult.applied(new Account())));
+    when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(PendingTransferEntity.class)))
+          .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+    when(movementWriter.releaseHolds(List.of(SOURCE, TARGET), List.of(DEBIT_ID, CREDIT_ID))).thenReturn(Mono.empty());
+    when(journalRepository.deleteById(TRANSFER_ID)).thenReturn(Mono.empty());
+
+    StepVerifier.create(engine.recoverJournal(Instant.now())).expectNext(1L).verifyComplete();
+
+    ArgumentCaptor<AccountMovement> credit = ArgumentCaptor.forClass(AccountMovement.class);
+    verify(movementWriter).apply(credit.capture());
+    assertThat(credit.getValue().getAccountNumber()).isEqualTo(TARGET);
+    assertThat(credit.getValue().getBalanceDelta()).isEqualTo(500);
+    assertThat(credit.getValue().getTransferId()).isEqualTo(CREDIT_ID);
+    assertThat(credit.getValue().getTransactionId()).isEqualTo(CREDIT_ID);
+    assertThat(credit.getValue().getLedgerEntry().getTransactionId()).isEqualTo(TRANSFER_ID);
+    verify(movementWriter, never()).revert(any());
+  }
+
+  @Test
+  void recoverReleasesHoldsOfCommittedEntry() {
+    givenJournal(journal(PendingTransferEntity.State.COMMITTED));
+    when(movementWriter.releaseHolds(List.of(SOURCE, TARGET), List.of(DEBIT_ID, CREDIT_ID))).thenReturn(Mono.empty());
+    when(journalRepository.deleteById(TRANSFER_ID)).thenReturn(Mono.empty());
+
+    StepVerifier.create(engine.recoverJournal(Instant.now())).expectNext(1L).verifyComplete();
+
+    verify(movementWriter, never()).apply(any());
+    verify(movementWriter, never()).revert(any());
+  }
+
+  @Test
+  void recoverRevertsHeldDebitWhenTargetIsMissing() {
+    givenJournal(journal(PendingTransferEntity.State.PENDING));
+    when(movementWriter.isHeld(SOURCE, DEBIT_ID)).thenReturn(Mono.just(true));
+    when(movementWriter.apply(any(AccountMovement.class)))
+          .thenReturn(Mono.just(MovementResult.rejected(MovementRejection.ACCOUNT_NOT_FOUND, null)));
+    when(movementWriter.revert(any(AccountMovement.class))).thenReturn(Mono.just(new Account()));
+    when(journalRepository.deleteById(TRANSFER_ID)).thenReturn(Mono.empty());
+
+    StepVerifier.create(engine.recoverJournal(Instant.now())).expectNext(1L).verifyComplete();
+
+    ArgumentCaptor<AccountMovement> debit = ArgumentCaptor.forClass(AccountMovement.class);
+    verify(movementWriter).revert(debit.capture());
+    assertThat(debit.getValue().getAccountNumber()).isEqualTo(SOURCE);
+    assertThat(debit.getValue().getBalanceDelta()).isEqualTo(-500);
+    assertThat(debit.getValue().getTransactionId()).isEqualTo(DEBIT_ID);
+    assertThat(debit.getValue().getLedgerEntry().getTransactionId()).isEqualTo(TRANSFER_ID);
+    verify(movementWriter, never()).releaseHolds(any(), any());
+  }
+
+  @Test
+  void recoverDiscardsEntryWithoutDebit() {
+    givenJournal(journal(PendingTransferEntity.State.PENDING));
+    when(movementWriter.isHeld(SOURCE, DEBIT_ID)).thenReturn(Mono.just(false));
+    when(journalRepository.deleteById(TRANSFER_ID)).thenReturn(Mono.empty());
+
+    StepVerifier.create(engine.recoverJournal(Instant.now())).expectNext(1L).verifyComplete();
+
+    verify(movementWriter, never()).apply(any());
+    verify(movementWriter, never()).revert(any());
+  }
+
+  // ==================== TRANSACTION ====================
+
+  @Test
+  void transactionAbortsWhenTargetIsMissing() {
+    properties.setMode(TransferProperties.Mode.TRANSACTION);
+    AtomicBoolean rolledBack = new AtomicBoolean();
+    when(operatorProvider.getIfAvailable()).thenReturn(operator);
+    when(operator.transactional(any(Mono.class))).thenAnswer(invocation ->
+          invocation.<Mono<?>>getArgument(0).doOnError(error -> rolledBack.set(true)));
+    when(movementWriter.apply(any(AccountMovement.class)))
+          .thenReturn(Mono.just(MovementResult.applied(new Account())))
+          .thenReturn(Mono.just(MovementResult.rejected(MovementRejection.ACCOUNT_NOT_FOUND, null)));
+
+    StepVerifier.create(engine.execute(transfer()))
+          .assertNext(result -> assertThat(result.getRejection()).isEqualTo(MovementRejection.TARGET_NOT_FOUND))
+          .verifyComplete();
+
+    // El cargo se deshace con el abort, no con una reversión explícita
+    assertThat(rolledBack).isTrue();
+    verify(movementWriter, times(2)).apply(any());
+  }
+
+  // ==================== COMPENSATING ====================
+
+  @Test
+  void compensationFailureKeepsOriginalError() {
+    properties.setMode(TransferProperties.Mode.COMPENSATING);
+    IllegalStateException creditError = new IllegalStateException("abono");
+    IllegalStateException revertError = new IllegalStateException("reversión");
+    when(movementWriter.apply(any(AccountMovement.class)))
+          .thenReturn(Mono.just(MovementResult.applied(new Account())))
+          .thenReturn(Mono.error(creditError));
+    when(movementWriter.revert(any(AccountMovement.class))).thenReturn(Mono.error(revertError));
+
+    StepVerifier.create(engine.execute(transfer()))
+          .expectErrorSatisfies(error -> {
+            assertThat(error).isSameAs(creditError);
+            assertThat(error.getSuppressed()).containsExactly(revertError);
+          })
+          .verify();
+  }
+
+  private void givenJournal(PendingTransferEntity journal) {
+    when(journalRepository.findByCreatedAtLessThanOrderByCreatedAtAsc(any(Instant.class), any(Pageable.class)))
+          .thenReturn(Flux.just(journal));
+  }
+
+  private PendingTransferEntity journal(PendingTransferEntity.State state) {
+    return PendingTransferEntity.builder()
+          .id(TRANSFER_ID)
+          .sourceAccount(SOURCE)
+          .targetAccount(TARGET)
+          .debitDelta(-500)
+          .creditDelta(500)
+          .debitPeriod("202601")
+          .creditPeriod("202601")
+          .state(state)
+          .createdAt(Instant.EPOCH)
+          .build();
+  }
+
+  private AccountTransfer transfer() {
+    return AccountTransfer.builder()
+          .transferId(TRANSFER_ID)
+          .debit(AccountMovement.builder().accountNumber(SOURCE).balanceDelta(-500).requiredBalance(500L)
+                .maxMovements(Integer.MAX_VALUE).build())
+          .credit(AccountMovement.builder().accountNumber(TARGET).balanceDelta(500)
+                .maxMovements(Integer.MAX_VALUE).build())
+          .build();
+  }
+}
@@ -0,0 +1,90 @@
+package com.ettdata.account_service.infrastructure.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLatencyPolicyTest {
+
+  private static final Duration MIN_TIMEOUT = Duration.ofMillis(300);
+  private static final Duration MAX_TIMEOUT = Duration.ofSeconds(2);
+  private static final Duration MIN_HEDGE_DELAY = Duration.ofMillis(50);
+
+  @Test
+  void usesMaxTimeoutWithoutHedgingUntilMinSamples() {
+    AdaptiveLatencyPolicy policy = policy(2.0);
+    record(policy, 49, Duration.ofMillis(10));
+
+    assertThat(policy.timeout()).isEqualTo(MAX_TIMEOUT);
+    assertThat(policy.hedgeDelay()).isEmpty();
+  }
+
+  @Test
+  void fastServiceClampsToMinimums() {
+    AdaptiveLatencyPolicy policy = policy(2.0);
+    record(policy, 100, Duration.ofMillis(10));
+
+    assertThat(policy.timeout()).isEqualTo(MIN_TIMEOUT);
+    assertThat(policy.hedgeDelay()).contains(MIN_HEDGE_DELAY);
+  }
+
+  @Test
+  void followsPercentilesBetweenLimits() {
+    AdaptiveLatencyPolicy policy = policy(2.0);
+    record(policy, 100, Duration.ofMillis(400));
+
+    // Percentiles aproximados: p99 ≈ 400 ms x 2, p95 ≈ 400 ms
+    assertThat(policy.timeout()).isBetween(Duration.ofMillis(750), Duration.ofMillis(850));
+    assertThat(policy.hedgeDelay()).hasValueSatisfying(delay ->
+          assertThat(delay).isBetween(Duration.ofMillis(375), Duration.ofMillis(425)));
+  }
+
+  @Test
+  void slowServiceClampsToMaxTimeout() {
+    AdaptiveLatencyPolicy policy = policy(2.0);
+    record(policy, 100, Duration.ofMillis(1500));
+
+    assertThat(policy.timeout()).isEqualTo(MAX_TIMEOUT);
+    assertThat(policy.hedgeDelay()).hasValueSatisfying(delay -> assertThat(delay).isLessThan(MAX_TIMEOUT));
+  }
+
+  @Test
+  void noHedgingWhenHedgeDelayReachesTimeout() {
+    // El p95 (2,5 s) se acota al timeout (maxTimeout): una solicitud adelantada ya no llegaría a tiempo
+    AdaptiveLatencyPolicy policy = policy(1.0);
+    record(policy, 100, Duration.ofMillis(2500));
+
+    assertThat(policy.timeout()).isEqualTo(MAX_TIMEOUT);
+    assertThat(policy.hedgeDelay()).isEmpty();
+  }
+
+  @Test
+  void censoredTimeoutsRaiseTimeout() {
+    AdaptiveLatencyPolicy withoutTimeouts = policy(2.0);
+    record(withoutTimeouts, 90, Duration.ofMillis(400));
+
+    AdaptiveLatencyPolicy withTimeouts = policy(2.0);
+    record(withTimeouts, 90, Duration.ofMillis(400));
+    for (int i = 0; i < 10; i++) {
+      withTimeouts.recordTimeout(Duration.ofMillis(800));
+    }
+
+    assertThat(withoutTimeouts.timeout()).isLessThan(Duration.ofMillis(1000));
+    // p99 ≈ 800 ms (las llamadas cortadas) x 2, acotado a maxTimeout
+    assertThat(withTimeouts.timeout()).isGreaterThan(Duration.ofMillis(1500));
+  }
+
+  private AdaptiveLatencyPolicy policy(double timeoutMultiplier) {
+    return new AdaptiveLatencyPolicy(new SimpleMeterRegistry(), "test.latency", Duration.ofMinutes(1), 50,
+          0.99, timeoutMultiplier, MIN_TIMEOUT, MAX_TIMEOUT, 0.95, MIN_HEDGE_DELAY);
+  }
+
+  private void record(AdaptiveLatencyPolicy policy, int samples, Duration latency) {
+    for (int i = 0; i < samples; i++) {
+      policy.record(latency.toNanos());
+    }
+  }
+}
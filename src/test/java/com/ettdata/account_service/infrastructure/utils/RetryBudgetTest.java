@@ -0,0 +1,53 @@
+package com.ettdata.account_service.infrastructure.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+  @Test
+  void startsFullAndRejectsWhenEmpty() {
+    RetryBudget budget = new RetryBudget(0.1, 0, 3);
+
+    assertThat(budget.tryWithdraw()).isTrue();
+    assertThat(budget.tryWithdraw()).isTrue();
+    assertThat(budget.tryWithdraw()).isTrue();
+    assertThat(budget.tryWithdraw()).isFalse();
+    assertThat(budget.available()).isZero();
+  }
+
+  @Test
+  void successesDepositRatioTokens() {
+    RetryBudget budget = new RetryBudget(0.5, 0, 1);
+    assertThat(budget.tryWithdraw()).isTrue();
+
+    budget.deposit();
+    assertThat(budget.tryWithdraw()).isFalse();
+    budget.deposit();
+    assertThat(budget.tryWithdraw()).isTrue();
+  }
+
+  @Test
+  void depositsAreCappedAtMaxTokens() {
+    RetryBudget budget = new RetryBudget(1, 0, 2);
+
+    for (int i = 0; i < 10; i++) {
+      budget.deposit();
+    }
+
+    assertThat(budget.available()).isEqualTo(2);
+  }
+
+  @Test
+  void timeRefillsTokens() throws InterruptedException {
+    RetryBudget budget = new RetryBudget(0, 100, 1);
+    assertThat(budget.tryWithdraw()).isTrue();
+    assertThat(budget.tryWithdraw()).isFalse();
+
+    // 100 fichas por segundo: una ficha cada 10 ms
+    Thread.sleep(50);
+
+    assertThat(budget.tryWithdraw()).isTrue();
+  }
+}